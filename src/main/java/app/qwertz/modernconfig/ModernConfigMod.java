@@ -2,11 +2,16 @@ package app.qwertz.modernconfig;
 
 import app.qwertz.modernconfig.config.*;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
+import app.qwertz.modernconfig.ui.RenderUtil;
 import com.mojang.blaze3d.platform.InputConstants;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.keymapping.v1.KeyMappingHelper;
+import net.fabricmc.fabric.api.resource.v1.ResourceLoader;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.resources.Identifier;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import org.lwjgl.glfw.GLFW;
 import java.util.Arrays;
 
@@ -30,11 +35,20 @@ public class ModernConfigMod implements ClientModInitializer {
                 ModernConfig.openGlobalConfig();
             }
         });
+        // Write any deferred config changes before the game exits, without letting a slow disk hold up the exit
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> ConfigManager.flushOnShutdown());
+        ConfigManager.installShutdownHook();
+        // Generated rounded-rect textures are freed on resource reload and recreated when next drawn
+        ResourceLoader.get(PackType.CLIENT_RESOURCES).registerReloader(
+            Identifier.fromNamespaceAndPath("modernconfig", "rounded_rect_textures"),
+            (ResourceManagerReloadListener) resourceManager -> RenderUtil.releaseTextures()
+        );
         modernConfig = buildConfig();
     }
 
 
-    private ModernConfig buildConfig() {
+    /** ModernConfig's own config: its settings and an example of every option type. Also drawn by the UI benchmarks. */
+    public static ModernConfig buildConfig() {
         // Create icon for ModernConfig
         Identifier modernConfigIcon = Identifier.fromNamespaceAndPath("modernconfig", "icon.png");
 
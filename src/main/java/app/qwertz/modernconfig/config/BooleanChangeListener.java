@@ -0,0 +1,7 @@
+package app.qwertz.modernconfig.config;
+
+/** Primitive change listener for {@link BooleanConfigOption}; dispatch does not box. */
+@FunctionalInterface
+public interface BooleanChangeListener {
+    void onChange(boolean oldValue, boolean newValue);
+}
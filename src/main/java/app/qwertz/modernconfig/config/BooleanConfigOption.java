@@ -0,0 +1,68 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.Arrays;
+
+/** Boolean option backed by a primitive field; use {@link #getBoolean()} on hot paths to avoid unboxing. */
+public class BooleanConfigOption extends ConfigOption<Boolean> {
+    private volatile boolean value;
+    private volatile BooleanChangeListener[] booleanListeners = new BooleanChangeListener[0];
+
+    public BooleanConfigOption(String id, String name, String description, boolean defaultValue) {
+        super(id, name, description, defaultValue);
+        this.value = defaultValue;
+    }
+
+    public boolean getBoolean() {
+        return value;
+    }
+
+    public void setBoolean(boolean value) {
+        boolean oldValue = this.value;
+        if (oldValue == value) return;
+        this.value = value;
+        valueChanged();
+        if (ConfigTransaction.isApplying()) return;
+        dispatch(oldValue, value);
+        notifyOwnerListeners();
+    }
+
+    private void dispatch(boolean oldValue, boolean newValue) {
+        BooleanChangeListener[] listeners = booleanListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onChange(oldValue, newValue);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        if (hasChangeListeners()) {
+            notifyChangeListeners(oldValue, newValue);
+        }
+    }
+
+    @Override
+    void fireChanged(Boolean oldValue, Boolean newValue) {
+        dispatch(oldValue, newValue);
+    }
+
+    /** Like {@link #onChange}, but called with primitive values so dispatch does not allocate. */
+    public synchronized void onBooleanChange(BooleanChangeListener listener) {
+        BooleanChangeListener[] updated = Arrays.copyOf(booleanListeners, booleanListeners.length + 1);
+        updated[booleanListeners.length] = listener;
+        booleanListeners = updated;
+    }
+
+    public synchronized void removeBooleanChangeListener(BooleanChangeListener listener) {
+        booleanListeners = removeListener(booleanListeners, listener);
+    }
+
+    @Override
+    public Boolean getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Boolean value) {
+        setBoolean(value);
+    }
+}
@@ -0,0 +1,30 @@
+package app.qwertz.modernconfig.config;
+
+/** Pre-resolved view of a boolean option; {@link #get()} is a single field read with no unboxing. */
+public final class BooleanHandle extends ValueHandle {
+    private final ConfigOption<Boolean> option;
+    private volatile boolean value;
+
+    BooleanHandle(ConfigOption<Boolean> option) {
+        this.option = option;
+        refresh();
+    }
+
+    public boolean get() {
+        return value;
+    }
+
+    public ConfigOption<Boolean> getOption() {
+        return option;
+    }
+
+    @Override
+    void refresh() {
+        if (option instanceof BooleanConfigOption primitive) {
+            value = primitive.getBoolean();
+        } else {
+            Boolean current = option.getValue();
+            value = current != null && current;
+        }
+    }
+}
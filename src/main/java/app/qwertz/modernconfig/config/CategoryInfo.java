@@ -7,6 +7,10 @@ public class CategoryInfo {
     private final String title;
     private final String description;
     private final Map<String, Object> options = new LinkedHashMap<>();
+    /** Id of the owning mod once registered, so options added later are bound to it as well. */
+    private String modId;
+    /** Dotted path of this category within its mod's config. */
+    private String path;
 
     public CategoryInfo(String title, String description) {
         this.title = title;
@@ -27,9 +31,23 @@ public class CategoryInfo {
 
     public void addOption(String key, ConfigOption<?> option) {
         options.put(key, option);
+        if (modId != null) {
+            option.bind(modId, path);
+            ConfigManager.onStructureChanged(modId);
+        }
     }
 
     public void addCategory(String key, CategoryInfo category) {
         options.put(key, category);
+        if (modId != null) {
+            category.bind(modId, path + "." + key);
+            ConfigManager.onStructureChanged(modId);
+        }
+    }
+
+    void bind(String modId, String path) {
+        this.modId = modId;
+        this.path = path;
+        ConfigManager.bindOptions(modId, path, options);
     }
 } 
\ No newline at end of file
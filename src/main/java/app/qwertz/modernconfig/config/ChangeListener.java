@@ -0,0 +1,7 @@
+package app.qwertz.modernconfig.config;
+
+/** Called with the previous and new value after an option's value actually changed. */
+@FunctionalInterface
+public interface ChangeListener<T> {
+    void onChange(T oldValue, T newValue);
+}
@@ -1,38 +1,38 @@
 package app.qwertz.modernconfig.config;
 
-public class ColorConfigOption extends ConfigOption<Integer> {
+public class ColorConfigOption extends IntConfigOption {
     public ColorConfigOption(String key, String description, String category, int defaultValue) {
         super(key, description, category, defaultValue);
         
         // Ensure default value is a valid RGB color (0x000000 to 0xFFFFFF)
-        setValue(defaultValue & 0xFFFFFF);
+        setInt(defaultValue);
     }
 
     @Override
-    public void setValue(Integer value) {
+    public void setInt(int value) {
         // Ensure color value is within valid RGB range
-        super.setValue(value & 0xFFFFFF);
+        super.setInt(value & 0xFFFFFF);
     }
 
     /**
      * Get the red component of the color (0-255)
      */
     public int getRed() {
-        return (getValue() >> 16) & 0xFF;
+        return (getInt() >> 16) & 0xFF;
     }
 
     /**
      * Get the green component of the color (0-255)
      */
     public int getGreen() {
-        return (getValue() >> 8) & 0xFF;
+        return (getInt() >> 8) & 0xFF;
     }
 
     /**
      * Get the blue component of the color (0-255)
      */
     public int getBlue() {
-        return getValue() & 0xFF;
+        return getInt() & 0xFF;
     }
 
     /**
@@ -42,14 +42,14 @@ public class ColorConfigOption extends ConfigOption<Integer> {
         red = Math.max(0, Math.min(255, red));
         green = Math.max(0, Math.min(255, green));
         blue = Math.max(0, Math.min(255, blue));
-        setValue((red << 16) | (green << 8) | blue);
+        setInt((red << 16) | (green << 8) | blue);
     }
 
     /**
      * Get the color as a hex string (e.g., "#FF0000" for red)
      */
     public String getHexString() {
-        return String.format("#%06X", getValue());
+        return String.format("#%06X", getInt());
     }
 
     /**
@@ -60,7 +60,7 @@ public class ColorConfigOption extends ConfigOption<Integer> {
             hex = hex.substring(1);
         }
         try {
-            setValue(Integer.parseInt(hex, 16));
+            setInt(Integer.parseInt(hex, 16));
         } catch (NumberFormatException e) {
             // Invalid hex string, keep current value
         }
@@ -52,7 +52,7 @@ public class ConfigBuilder {
     }
 
     public ConfigBuilder toggle(String id, String name, boolean defaultValue) {
-        options.put(id, new ConfigOption<>(id, name, name, defaultValue));
+        options.put(id, new BooleanConfigOption(id, name, name, defaultValue));
         return this;
     }
 
@@ -82,6 +82,17 @@ public class ConfigBuilder {
         return this;
     }
 
+    /** List without duplicates and with O(1) membership checks, e.g. an allow/deny list. */
+    public ConfigBuilder set(String id, String name, String childName) {
+        options.put(id, new SetConfigOption(id, name, name, childName));
+        return this;
+    }
+
+    public ConfigBuilder set(String id, String name, String childName, boolean expandable) {
+        options.put(id, new SetConfigOption(id, name, name, childName, expandable));
+        return this;
+    }
+
     public ConfigBuilder color(String id, String name, int defaultValue) {
         options.put(id, new ColorConfigOption(id, name, name, defaultValue));
         return this;
@@ -97,6 +108,12 @@ public class ConfigBuilder {
         return this;
     }
 
+    /** Dropdown over an enum's constants; saved by name, read with {@link EnumConfigOption#getEnum()}. */
+    public <E extends Enum<E>> ConfigBuilder dropdown(String id, String name, Class<E> enumType, E defaultValue) {
+        this.options.put(id, new EnumConfigOption<>(id, name, name, enumType, defaultValue));
+        return this;
+    }
+
     public ConfigBuilder item(String id, String name, String defaultValue) {
         options.put(id, new ItemConfigOption(id, name, name, defaultValue));
         return this;
@@ -0,0 +1,12 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.List;
+
+/**
+ * Mod-level listener called once per change set: once for every single change, and once per
+ * {@link ModernConfig#edit transaction} with all options it changed.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+    void onConfigChanged(List<ConfigOption<?>> changed);
+}
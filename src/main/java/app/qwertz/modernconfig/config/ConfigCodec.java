@@ -0,0 +1,20 @@
+package app.qwertz.modernconfig.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Reads and writes the value of a {@link ConfigOption} as JSON. Codecs are resolved once per option when its
+ * config is registered (see {@link ConfigCodecs}), so load and save dispatch straight to them.
+ */
+public interface ConfigCodec<T> {
+    /** Write a single JSON value. The property name has already been written. */
+    void write(JsonWriter writer, T value) throws IOException;
+
+    /**
+     * Read a single JSON value. Always consume the value, and return null if it cannot be converted to the
+     * option's type so the option keeps its current value.
+     */
+    T read(JsonReader reader) throws IOException;
+}
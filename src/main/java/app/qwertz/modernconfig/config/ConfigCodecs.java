@@ -0,0 +1,215 @@
+package app.qwertz.modernconfig.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.resources.Identifier;
+
+/**
+ * Registry of {@link ConfigCodec}s. A codec is looked up by option class first (walking up the class hierarchy),
+ * then by the class of the option's default value. Mods with custom option types register their codec here before
+ * building their config.
+ */
+public final class ConfigCodecs {
+    public static final ConfigCodec<Boolean> BOOLEAN = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, Boolean value) throws IOException {
+            writer.value(value.booleanValue());
+        }
+
+        @Override
+        public Boolean read(JsonReader reader) throws IOException {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.BOOLEAN) return reader.nextBoolean();
+            if (token == JsonToken.STRING) return Boolean.parseBoolean(reader.nextString());
+            reader.skipValue();
+            return null;
+        }
+    };
+
+    public static final ConfigCodec<Integer> INTEGER = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, Integer value) throws IOException {
+            writer.value(value.longValue());
+        }
+
+        @Override
+        public Integer read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.NUMBER) {
+                reader.skipValue();
+                return null;
+            }
+            double number = reader.nextDouble();
+            return number == (int) number ? (int) number : null;
+        }
+    };
+
+    public static final ConfigCodec<Long> LONG = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, Long value) throws IOException {
+            writer.value(value.longValue());
+        }
+
+        @Override
+        public Long read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.NUMBER) {
+                reader.skipValue();
+                return null;
+            }
+            String number = reader.nextString();
+            try {
+                return Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    };
+
+    public static final ConfigCodec<Float> FLOAT = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, Float value) throws IOException {
+            writer.value(value);
+        }
+
+        @Override
+        public Float read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.NUMBER) {
+                reader.skipValue();
+                return null;
+            }
+            return (float) reader.nextDouble();
+        }
+    };
+
+    public static final ConfigCodec<Double> DOUBLE = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, Double value) throws IOException {
+            writer.value(value.doubleValue());
+        }
+
+        @Override
+        public Double read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.NUMBER) {
+                reader.skipValue();
+                return null;
+            }
+            return reader.nextDouble();
+        }
+    };
+
+    public static final ConfigCodec<String> STRING = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, String value) throws IOException {
+            writer.value(value);
+        }
+
+        @Override
+        public String read(JsonReader reader) throws IOException {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.STRING || token == JsonToken.NUMBER) return reader.nextString();
+            if (token == JsonToken.BOOLEAN) return String.valueOf(reader.nextBoolean());
+            reader.skipValue();
+            return null;
+        }
+    };
+
+    /** Array of strings; non-string entries are dropped on read. */
+    public static final ConfigCodec<List<String>> STRING_LIST = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, List<String> value) throws IOException {
+            writer.beginArray();
+            for (String item : value) {
+                writer.value(item);
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public List<String> read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+            List<String> list = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.STRING) {
+                    list.add(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+            return list;
+        }
+    };
+
+    /** Identifier written as its "namespace:path" string. */
+    public static final ConfigCodec<Identifier> IDENTIFIER = new ConfigCodec<>() {
+        @Override
+        public void write(JsonWriter writer, Identifier value) throws IOException {
+            writer.value(value.toString());
+        }
+
+        @Override
+        public Identifier read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.STRING) {
+                reader.skipValue();
+                return null;
+            }
+            return Identifier.tryParse(reader.nextString());
+        }
+    };
+
+    private static final Map<Class<?>, ConfigCodec<?>> OPTION_CODECS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ConfigCodec<?>> VALUE_CODECS = new ConcurrentHashMap<>();
+
+    static {
+        registerValueType(Boolean.class, BOOLEAN);
+        registerValueType(Integer.class, INTEGER);
+        registerValueType(Long.class, LONG);
+        registerValueType(Float.class, FLOAT);
+        registerValueType(Double.class, DOUBLE);
+        registerValueType(String.class, STRING);
+        registerValueType(Identifier.class, IDENTIFIER);
+
+        register(SliderConfigOption.class, DOUBLE);
+        register(ColorConfigOption.class, INTEGER);
+        register(DropdownConfigOption.class, STRING);
+        register(ListConfigOption.class, STRING_LIST);
+        register(ItemConfigOption.class, IDENTIFIER);
+    }
+
+    private ConfigCodecs() {
+    }
+
+    /** Use the codec for every option of the given class (and its subclasses, unless they register their own). */
+    public static <T, O extends ConfigOption<T>> void register(Class<O> optionType, ConfigCodec<T> codec) {
+        OPTION_CODECS.put(optionType, codec);
+    }
+
+    /** Use the codec for plain options whose default value is of the given class. */
+    public static <T> void registerValueType(Class<T> valueType, ConfigCodec<T> codec) {
+        VALUE_CODECS.put(valueType, codec);
+    }
+
+    /** Resolve the codec for an option, or null if its value type cannot be persisted. */
+    public static ConfigCodec<?> forOption(ConfigOption<?> option) {
+        for (Class<?> type = option.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            ConfigCodec<?> codec = OPTION_CODECS.get(type);
+            if (codec != null) return codec;
+        }
+        Object defaultValue = option.getDefaultValue();
+        if (defaultValue == null) return null;
+        for (Class<?> type = defaultValue.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            ConfigCodec<?> codec = VALUE_CODECS.get(type);
+            if (codec != null) return codec;
+        }
+        return null;
+    }
+}
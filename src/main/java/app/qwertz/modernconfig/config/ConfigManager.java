@@ -1,15 +1,37 @@
 package app.qwertz.modernconfig.config;
 
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
-import com.google.gson.*;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.resources.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class ConfigManager {
     // Inner class to store mod metadata
@@ -57,10 +79,62 @@ public class ConfigManager {
         }
     }
     
-    private static final Map<String, Map<String, Object>> MOD_CONFIGS = new HashMap<>();
-    private static final Map<String, ModInfo> MOD_INFO = new HashMap<>();
-    private static final Map<String, ModernConfig> MOD_CONFIG_INSTANCES = new HashMap<>();
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    /** How far a save goes to make sure the written file survives a crash or power loss. */
+    public enum Durability {
+        /** Atomic replace only; the OS flushes the data whenever it likes. Fastest. */
+        NONE,
+        /** Force the file contents to disk before it replaces the old file. */
+        FSYNC_FILE,
+        /** Also force the directory entry, so the rename itself survives a power loss. Slowest. */
+        FSYNC_DIR
+    }
+
+    // Concurrent so worker, network and render threads can look configs up without locking
+    private static final Map<String, Map<String, Object>> MOD_CONFIGS = new ConcurrentHashMap<>();
+    private static final Map<String, ModInfo> MOD_INFO = new ConcurrentHashMap<>();
+    private static final Map<String, ModernConfig> MOD_CONFIG_INSTANCES = new ConcurrentHashMap<>();
+    /** Reused serialization buffer; only touched while holding WRITE_LOCK. */
+    private static final WriteBuffer WRITE_BUFFER = new WriteBuffer();
+    /** SHA-256 of the bytes last written to (or loaded from) each mod's file. */
+    private static final Map<String, byte[]> FINGERPRINTS = new ConcurrentHashMap<>();
+    private static final AtomicLong SKIPPED_WRITES = new AtomicLong();
+    private static final AtomicLong WRITES = new AtomicLong();
+    private static volatile boolean compactOutput = false;
+    private static volatile Durability durability = Durability.FSYNC_FILE;
+
+    /** Default time a burst of changes is collected before the background writer persists it. */
+    public static final long DEFAULT_SAVE_DEBOUNCE_MS = 500;
+
+    /** Single daemon thread that performs deferred (write-behind) saves off the render thread. */
+    private static final ScheduledExecutorService SAVE_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ModernConfig Save Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Guards the dirty mod set and the pending save task. */
+    private static final Object SAVE_LOCK = new Object();
+    /** Serializes actual file writes so a flush and the background writer never write concurrently. */
+    private static final Object WRITE_LOCK = new Object();
+    private static volatile long saveDebounceMs = DEFAULT_SAVE_DEBOUNCE_MS;
+    /** Mod ids with changes that have not been written yet; only these files are rewritten on save. */
+    private static final Set<String> DIRTY_MODS = new LinkedHashSet<>();
+    private static ScheduledFuture<?> pendingSave;
+    /** Times a failed write is retried, with doubling delays, before giving up. */
+    private static final int MAX_WRITE_RETRIES = 3;
+    /** Shortest base for the retry delay, so retries still back off when the save debounce is 0. */
+    private static final long MIN_RETRY_DELAY_MS = 250;
+    /** Longest wait before a retry, however long the save debounce is. */
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+    /** Consecutive failed writes per mod; cleared when a write succeeds. */
+    private static final Map<String, Integer> WRITE_FAILURES = new ConcurrentHashMap<>();
+
+    /** Default for how long the game exit waits for pending writes before giving up on them. */
+    public static final long DEFAULT_SHUTDOWN_FLUSH_TIMEOUT_MS = 3000;
+    private static volatile long shutdownFlushTimeoutMs = DEFAULT_SHUTDOWN_FLUSH_TIMEOUT_MS;
+    /** How long the last shutdown flush that had work to do took in milliseconds; -1 until one has run. */
+    private static volatile long lastShutdownFlushMs = -1;
+    private static final Logger LOGGER = LoggerFactory.getLogger("ModernConfig");
+    private static final AtomicBoolean SHUTDOWN_HOOK_INSTALLED = new AtomicBoolean();
 
     /** Resolve config file path using Fabric's config directory so save/load persist across restarts. */
     private static Path getConfigPath(String modId) {
@@ -69,167 +143,520 @@ public class ConfigManager {
 
     public static void registerConfig(String modId, Map<String, Object> config) {
         modId = modId.toLowerCase();
-        MOD_CONFIGS.put(modId, config);
-        load();
+        addConfig(modId, config);
+        load(modId);
     }
 
     public static void registerConfig(String modId, String name, String description, Map<String, Object> config) {
         modId = modId.toLowerCase();
-        MOD_CONFIGS.put(modId, config);
+        addConfig(modId, config);
         MOD_INFO.put(modId, new ModInfo(name, description));
-        load();
+        load(modId);
     }
 
     public static void registerConfig(String modId, String name, String description, Identifier icon, Map<String, Object> config) {
         modId = modId.toLowerCase();
-        MOD_CONFIGS.put(modId, config);
+        addConfig(modId, config);
         MOD_INFO.put(modId, new ModInfo(name, description, icon));
-        load();
+        load(modId);
     }
 
     public static void registerConfig(String modId, String name, String description, Identifier icon, ModernConfigTheme theme, Map<String, Object> config) {
         modId = modId.toLowerCase();
-        MOD_CONFIGS.put(modId, config);
+        addConfig(modId, config);
         MOD_INFO.put(modId, new ModInfo(name, description, icon, theme));
-        load();
+        load(modId);
+    }
+
+    /**
+     * Register several configs at once (mod id to option map) and load all of their files in a single pass.
+     * Mods that were registered earlier are not reloaded.
+     */
+    public static void registerConfigs(Map<String, Map<String, Object>> configs) {
+        List<String> modIds = new ArrayList<>(configs.size());
+        for (Map.Entry<String, Map<String, Object>> entry : configs.entrySet()) {
+            String modId = entry.getKey().toLowerCase();
+            addConfig(modId, entry.getValue());
+            modIds.add(modId);
+        }
+        loadConfigs(modIds);
     }
 
-    /** True during load - prevents setValue from triggering save and overwriting the file with partial/defaults. */
-    static boolean isLoading = false;
+    private static void addConfig(String modId, Map<String, Object> config) {
+        // Bind before publishing, so a thread that finds the config in the map also sees the bound options
+        bindOptions(modId, "", config);
+        MOD_CONFIGS.put(modId, config);
+        if (ModernConfigSettings.MOD_ID.equals(modId)) {
+            ModernConfigSettings.watch();
+        }
+    }
 
+    /**
+     * Record the owning mod and category path on every option and category, so changes only mark that mod's
+     * file dirty and reach the right category listeners.
+     */
+    @SuppressWarnings("unchecked")
+    static void bindOptions(String modId, String prefix, Map<String, Object> options) {
+        for (Map.Entry<String, Object> entry : options.entrySet()) {
+            Object value = entry.getValue();
+            String path = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+            if (value instanceof ConfigOption<?> option) {
+                option.bind(modId, prefix);
+            } else if (value instanceof CategoryInfo categoryInfo) {
+                categoryInfo.bind(modId, path);
+            } else if (value instanceof Map) {
+                bindOptions(modId, path, (Map<String, Object>) value);
+            }
+        }
+    }
+
+    /**
+     * Thread currently loading files, or null. Values it sets do not mark the mod dirty, so a load never triggers
+     * a save that would overwrite the file with partial/defaults. Tracked per thread so a value another thread
+     * sets in the meantime is still saved.
+     */
+    private static volatile Thread loadingThread;
+
+    /** True if the calling thread is in the middle of loading config files. */
+    static boolean isLoading() {
+        return loadingThread == Thread.currentThread();
+    }
+
+    /** Reload every registered mod's file from disk. */
     public static void load() {
-        isLoading = true;
-        try {
-            for (String modId : MOD_CONFIGS.keySet()) {
-                Path path = getConfigPath(modId);
-                if (Files.exists(path)) {
-                    try (Reader reader = Files.newBufferedReader(path)) {
-                        JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
-                        Map<String, Object> config = MOD_CONFIGS.get(modId);
-                        if (config != null) {
-                            loadOptionsRecursive(json, config);
-                        }
-                    } catch (IOException e) {
-                        e.printStackTrace();
+        loadConfigs(new ArrayList<>(MOD_CONFIGS.keySet()));
+    }
+
+    /** Reload a single mod's file from disk. */
+    public static void load(String modId) {
+        loadConfigs(List.of(modId.toLowerCase()));
+    }
+
+    private static void loadConfigs(List<String> modIds) {
+        // Loads hold the write lock, so a reload never interleaves with a write of the same file
+        synchronized (WRITE_LOCK) {
+            Thread previous = loadingThread;
+            loadingThread = Thread.currentThread();
+            try {
+                for (String modId : modIds) {
+                    loadConfig(modId);
+                }
+            } finally {
+                loadingThread = previous;
+            }
+        }
+    }
+
+    private static void loadConfig(String modId) {
+        Map<String, Object> config = MOD_CONFIGS.get(modId);
+        if (config == null) return;
+        Path path = getConfigPath(modId);
+        if (Files.exists(path)) {
+            try {
+                byte[] bytes = Files.readAllBytes(path);
+                // Remember what is on disk so saving the same content again is skipped
+                FINGERPRINTS.put(modId, fingerprint(bytes, bytes.length));
+                // Applied like a transaction, so snapshot readers see the reloaded values in one step
+                ModernConfig owner = MOD_CONFIG_INSTANCES.get(modId);
+                if (owner != null) {
+                    owner.beginBatch();
+                }
+                try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+                    reader.setStrictness(Strictness.LENIENT);
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        readOptionsRecursive(reader, config);
+                    }
+                } finally {
+                    if (owner != null) {
+                        owner.endBatch();
                     }
                 }
+            } catch (IOException e) {
+                LOGGER.error("Failed to read the config of {}", modId, e);
             }
-        } finally {
-            isLoading = false;
         }
     }
 
+    /**
+     * Mark a mod's config as changed and return immediately. The write happens on the background writer once
+     * the debounce window has passed; every change made within that window is coalesced into a single save,
+     * and only the mods marked dirty are rewritten.
+     */
+    public static void markDirty(String modId) {
+        synchronized (SAVE_LOCK) {
+            DIRTY_MODS.add(modId.toLowerCase());
+            schedulePendingSave();
+        }
+    }
+
+    /** Mark every registered mod as changed. Prefer {@link #markDirty(String)} so only the owning file is rewritten. */
+    public static void markDirty() {
+        synchronized (SAVE_LOCK) {
+            DIRTY_MODS.addAll(MOD_CONFIGS.keySet());
+            schedulePendingSave();
+        }
+    }
+
+    /** Synchronously write pending changes, if any. Use when the changes must be durable now (e.g. on shutdown). */
+    public static void flush() {
+        flushPending();
+    }
+
+    /** Write pending changes now; returns false if there were none. */
+    private static boolean flushPending() {
+        List<String> modIds;
+        synchronized (SAVE_LOCK) {
+            cancelPendingSave();
+            if (DIRTY_MODS.isEmpty()) return false;
+            modIds = drainDirtyMods();
+        }
+        writeConfigs(modIds);
+        return true;
+    }
+
+    /** True if there are changes that have not been written yet. */
+    public static boolean hasPendingChanges() {
+        synchronized (SAVE_LOCK) {
+            return !DIRTY_MODS.isEmpty();
+        }
+    }
+
+    /** True if the given mod has changes that have not been written yet. */
+    public static boolean isDirty(String modId) {
+        synchronized (SAVE_LOCK) {
+            return DIRTY_MODS.contains(modId.toLowerCase());
+        }
+    }
+
+    /** Set how long (in milliseconds) changes are collected before the background writer saves them. */
+    public static void setSaveDebounceMs(long debounceMs) {
+        saveDebounceMs = Math.max(0, debounceMs);
+    }
+
+    public static long getSaveDebounceMs() {
+        return saveDebounceMs;
+    }
+
+    /**
+     * Write all pending changes before the game exits, waiting at most the shutdown flush timeout so a slow or hung
+     * disk cannot block the exit. Also waits for a write the background writer already started. Returns true if
+     * everything was written in time; the time taken is available from {@link #getLastShutdownFlushMs()}.
+     */
+    public static boolean flushOnShutdown() {
+        long start = System.nanoTime();
+        boolean completed = false;
+        boolean wrote = false;
+        try {
+            // Runs on the writer thread, behind any write that is already in progress
+            wrote = SAVE_EXECUTOR.submit(ConfigManager::flushPending).get(shutdownFlushTimeoutMs, TimeUnit.MILLISECONDS);
+            completed = true;
+        } catch (TimeoutException e) {
+            LOGGER.warn("Config changes were not written within {} ms of shutdown", shutdownFlushTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            LOGGER.error("Failed to write config changes on shutdown", e);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // The JVM hook runs after the client stopping flush; with nothing left to write it keeps that measurement
+        if (wrote || !completed || lastShutdownFlushMs < 0) {
+            lastShutdownFlushMs = elapsedMs;
+            if (completed) {
+                LOGGER.info("Shutdown flush finished in {} ms", elapsedMs);
+            } else {
+                LOGGER.warn("Shutdown flush gave up after {} ms", elapsedMs);
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Register a JVM shutdown hook that flushes pending changes, as a fallback for exits that skip the client
+     * stopping event (e.g. a crash). Only installs once.
+     */
+    public static void installShutdownHook() {
+        if (SHUTDOWN_HOOK_INSTALLED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ConfigManager::flushOnShutdown, "ModernConfig Shutdown Flush"));
+        }
+    }
+
+    /** Set how long (in milliseconds) a shutdown flush may delay the game exit. */
+    public static void setShutdownFlushTimeoutMs(long timeoutMs) {
+        shutdownFlushTimeoutMs = Math.max(0, timeoutMs);
+    }
+
+    public static long getShutdownFlushTimeoutMs() {
+        return shutdownFlushTimeoutMs;
+    }
+
+    /**
+     * How long the last shutdown flush took (milliseconds), including waiting for in-progress writes; -1 if none ran.
+     * A later flush that finds nothing to write (e.g. the JVM hook after the client stopping flush) does not replace it.
+     */
+    public static long getLastShutdownFlushMs() {
+        return lastShutdownFlushMs;
+    }
+
+    private static void schedulePendingSave() {
+        if (pendingSave == null) {
+            pendingSave = SAVE_EXECUTOR.schedule(ConfigManager::writePending, saveDebounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void cancelPendingSave() {
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+            pendingSave = null;
+        }
+    }
+
+    private static List<String> drainDirtyMods() {
+        List<String> modIds = new ArrayList<>(DIRTY_MODS);
+        DIRTY_MODS.clear();
+        return modIds;
+    }
+
+    /** Runs on the background writer when the debounce window of a burst of changes has passed. */
+    private static void writePending() {
+        List<String> modIds;
+        synchronized (SAVE_LOCK) {
+            pendingSave = null;
+            if (DIRTY_MODS.isEmpty()) return;
+            modIds = drainDirtyMods();
+        }
+        writeConfigs(modIds);
+    }
+
+    /** Synchronously write every mod with unsaved changes, discarding any pending deferred save. */
     public static void save() {
-        for (Map.Entry<String, Map<String, Object>> entry : MOD_CONFIGS.entrySet()) {
-            String modId = entry.getKey();
-            Map<String, Object> config = entry.getValue();
-            JsonObject json = new JsonObject();
-            saveOptionsRecursive(json, config);
+        flush();
+    }
 
-            try {
-                Path path = getConfigPath(modId);
-                Files.createDirectories(path.getParent());
-                try (Writer writer = Files.newBufferedWriter(path)) {
-                    GSON.toJson(json, writer);
+    /** Synchronously write a single mod's config, whether or not it has unsaved changes. */
+    public static void save(String modId) {
+        modId = modId.toLowerCase();
+        synchronized (SAVE_LOCK) {
+            DIRTY_MODS.remove(modId);
+            if (DIRTY_MODS.isEmpty()) {
+                cancelPendingSave();
+            }
+        }
+        writeConfigs(List.of(modId));
+    }
+
+    private static void writeConfigs(List<String> modIds) {
+        synchronized (WRITE_LOCK) {
+            for (String modId : modIds) {
+                try {
+                    writeConfig(modId);
+                    WRITE_FAILURES.remove(modId);
+                } catch (IOException | RuntimeException e) {
+                    // The mod already left the dirty set; without a retry this change would only be saved with the next one
+                    LOGGER.error("Failed to write the config of {}", modId, e);
+                    retryLater(modId);
                 }
+            }
+        }
+    }
+
+    /**
+     * Schedule another write after a failed one (file locked, disk briefly full, a codec rejecting a value), waiting
+     * twice as long each time, up to {@link #MAX_RETRY_DELAY_MS}. After {@link #MAX_WRITE_RETRIES} failures in a row
+     * it stops; later changes are still written as they happen.
+     */
+    private static void retryLater(String modId) {
+        int failures = WRITE_FAILURES.merge(modId, 1, Integer::sum);
+        if (failures > MAX_WRITE_RETRIES) return;
+        long base = Math.min(Math.max(saveDebounceMs, MIN_RETRY_DELAY_MS), MAX_RETRY_DELAY_MS);
+        long delay = Math.min(base << failures, MAX_RETRY_DELAY_MS);
+        try {
+            SAVE_EXECUTOR.schedule(() -> markDirty(modId), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Could not schedule another write of the config of {}", modId, e);
+        }
+    }
+
+    /** Must be called while holding WRITE_LOCK, since it reuses the shared serialization buffer. */
+    private static void writeConfig(String modId) throws IOException {
+        Map<String, Object> config = MOD_CONFIGS.get(modId);
+        if (config == null) return;
+
+        WRITE_BUFFER.reset();
+        ModernConfig owner = MOD_CONFIG_INSTANCES.get(modId);
+        if (owner != null) {
+            owner.writeJson(WRITE_BUFFER, compactOutput);
+        } else {
+            writeJson(WRITE_BUFFER, config, compactOutput);
+        }
 
-                // Notify listeners after successful save
-                ModernConfig modernConfig = MOD_CONFIG_INSTANCES.get(modId);
-                if (modernConfig != null) {
-                    modernConfig.notifySaveListeners();
+        // Most saves are no-ops (e.g. a dropdown re-selecting its current value); leave the file untouched
+        byte[] fingerprint = fingerprint(WRITE_BUFFER.array(), WRITE_BUFFER.size());
+        if (MessageDigest.isEqual(fingerprint, FINGERPRINTS.get(modId))) {
+            SKIPPED_WRITES.incrementAndGet();
+            return;
+        }
+
+        Path path = getConfigPath(modId);
+        Path temp = path.resolveSibling(modId + ".json.tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            // Write to a temp file in the same directory and move it into place, so a crash mid-write
+            // never leaves a truncated config behind
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(WRITE_BUFFER.array(), 0, WRITE_BUFFER.size());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
                 }
-            } catch (IOException e) {
-                e.printStackTrace();
+                if (durability != Durability.NONE) {
+                    channel.force(true);
+                }
+            }
+            moveIntoPlace(temp, path);
+            if (durability == Durability.FSYNC_DIR) {
+                syncDirectory(path.getParent());
+            }
+            FINGERPRINTS.put(modId, fingerprint);
+            WRITES.incrementAndGet();
+
+            // Notify listeners after successful save
+            ModernConfig modernConfig = MOD_CONFIG_INSTANCES.get(modId);
+            if (modernConfig != null) {
+                modernConfig.notifySaveListeners();
+            }
+        } finally {
+            // On failure the I/O error goes to writeConfigs, which schedules a retry
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
             }
         }
     }
 
+    private static byte[] fingerprint(byte[] bytes, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Number of saves that were skipped because the serialized content matched what is already on disk. */
+    public static long getSkippedWriteCount() {
+        return SKIPPED_WRITES.get();
+    }
+
+    /** Number of config files actually written to disk. */
+    public static long getWriteCount() {
+        return WRITES.get();
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Persist the rename itself. Not every platform allows opening a directory (e.g. Windows), so failures are ignored. */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Write pretty-printed (default) or compact single-line JSON files. Applies to the next save. */
+    public static void setCompactOutput(boolean compact) {
+        compactOutput = compact;
+    }
+
+    public static boolean isCompactOutput() {
+        return compactOutput;
+    }
+
+    /** Choose how hard a save waits for the data to reach the disk. Applies to the next save. */
+    public static void setDurability(Durability level) {
+        durability = level;
+    }
+
+    public static Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Pull-based load: walks the file once, looks each key up in the option map and skips unknown subtrees
+     * (e.g. left behind by removed options) without materializing them. Option values go through the codec
+     * resolved for that option at registration.
+     */
     @SuppressWarnings("unchecked")
-    private static void loadOptionsRecursive(JsonObject json, Map<String, Object> options) {
-        for (Map.Entry<String, Object> entry : options.entrySet()) {
-            String key = entry.getKey();
-            Object value = entry.getValue();
+    private static void readOptionsRecursive(JsonReader reader, Map<String, Object> options) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Object value = options.get(reader.nextName());
+            JsonToken token = reader.peek();
 
-            if (json.has(key)) {
-                JsonElement jsonValue = json.get(key);
-
-                if (value instanceof ConfigOption<?>) {
-                    ConfigOption<?> option = (ConfigOption<?>) value;
-                    if (jsonValue.isJsonObject()) continue;
-
-                    try {
-                        if (option instanceof ListConfigOption && jsonValue.isJsonArray()) {
-                            List<String> list = new ArrayList<>();
-                            for (JsonElement element : jsonValue.getAsJsonArray()) {
-                                if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isString()) {
-                                    list.add(element.getAsString());
-                                }
-                            }
-                            ((ListConfigOption) option).setValue(list);
-                        } else if (option.getDefaultValue() instanceof Boolean)
-                            ((ConfigOption<Boolean>) option).setValue(jsonValue.getAsBoolean());
-                        else if (option.getDefaultValue() instanceof Integer)
-                            ((ConfigOption<Integer>) option).setValue(jsonValue.getAsInt());
-                        else if (option.getDefaultValue() instanceof Float)
-                            ((ConfigOption<Float>) option).setValue(jsonValue.getAsFloat());
-                        else if (option.getDefaultValue() instanceof Double)
-                            ((ConfigOption<Double>) option).setValue(jsonValue.getAsDouble());
-                        else if (option.getDefaultValue() instanceof String)
-                            ((ConfigOption<String>) option).setValue(jsonValue.getAsString());
-                    } catch (Exception e) {
-                        // Skip if value can't be converted to the correct type
-                    }
-                } else if (value instanceof CategoryInfo && jsonValue.isJsonObject()) {
-                    CategoryInfo categoryInfo = (CategoryInfo) value;
-                    loadOptionsRecursive(jsonValue.getAsJsonObject(), categoryInfo.getOptions());
-                } else if (value instanceof Map && jsonValue.isJsonObject()) {
-                    loadOptionsRecursive(jsonValue.getAsJsonObject(), (Map<String, Object>) value);
-                }
+            if (value instanceof ConfigOption<?> option) {
+                option.read(reader);
+            } else if (value instanceof CategoryInfo categoryInfo && token == JsonToken.BEGIN_OBJECT) {
+                readOptionsRecursive(reader, categoryInfo.getOptions());
+            } else if (value instanceof Map && token == JsonToken.BEGIN_OBJECT) {
+                readOptionsRecursive(reader, (Map<String, Object>) value);
+            } else {
+                reader.skipValue();
             }
         }
+        reader.endObject();
+    }
+
+    /** Write the config file's JSON for the option tree to the stream. */
+    static void writeJson(OutputStream out, Map<String, Object> config, boolean compact) throws IOException {
+        // Buffered, because the encoder would otherwise copy each of the many small strings JsonWriter emits
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        if (!compact) {
+            writer.setIndent("  ");
+        }
+        writer.beginObject();
+        writeOptionsRecursive(writer, config);
+        writer.endObject();
+        writer.flush();
     }
 
-    private static void saveOptionsRecursive(JsonObject json, Map<String, Object> options) {
+    /** Stream the option tree straight into the writer, without building an intermediate JsonObject. */
+    @SuppressWarnings("unchecked")
+    private static void writeOptionsRecursive(JsonWriter writer, Map<String, Object> options) throws IOException {
         for (Map.Entry<String, Object> entry : options.entrySet()) {
             String key = entry.getKey();
             Object value = entry.getValue();
 
-            if (value instanceof ConfigOption<?>) {
-                ConfigOption<?> option = (ConfigOption<?>) value;
-                Object val = option.getValue();
-                if (option instanceof ListConfigOption) {
-                    JsonArray array = new JsonArray();
-                    @SuppressWarnings("unchecked")
-                    List<String> list = (List<String>) val;
-                    for (String item : list) {
-                        array.add(item);
-                    }
-                    json.add(key, array);
-                } else if (val instanceof Boolean)
-                    json.addProperty(key, (Boolean) val);
-                else if (val instanceof Integer)
-                    json.addProperty(key, (Integer) val);
-                else if (val instanceof Float)
-                    json.addProperty(key, (Float) val);
-                else if (val instanceof Double)
-                    json.addProperty(key, (Double) val);
-                else if (val instanceof String)
-                    json.addProperty(key, (String) val);
+            if (value instanceof ConfigOption<?> option) {
+                option.write(writer, key);
             } else if (value instanceof CategoryInfo) {
-                JsonObject categoryJson = new JsonObject();
                 CategoryInfo categoryInfo = (CategoryInfo) value;
-                saveOptionsRecursive(categoryJson, categoryInfo.getOptions());
-                json.add(key, categoryJson);
+                writer.name(key).beginObject();
+                writeOptionsRecursive(writer, categoryInfo.getOptions());
+                writer.endObject();
             } else if (value instanceof Map) {
-                JsonObject categoryJson = new JsonObject();
-                @SuppressWarnings("unchecked")
-                Map<String, Object> categoryMap = (Map<String, Object>) value;
-                saveOptionsRecursive(categoryJson, categoryMap);
-                json.add(key, categoryJson);
+                writer.name(key).beginObject();
+                writeOptionsRecursive(writer, (Map<String, Object>) value);
+                writer.endObject();
             }
         }
     }
 
+    /**
+     * Apply changes to options of several mods as one; see {@link ModernConfig#edit}. Address options with
+     * {@link ConfigTransaction#set(String, String, Object)} or pass them directly.
+     */
+    public static void edit(Consumer<ConfigTransaction> edits) {
+        ConfigTransaction transaction = new ConfigTransaction(null);
+        edits.accept(transaction);
+        transaction.commit();
+    }
+
     public static Map<String, Object> getConfig(String modId) {
         return MOD_CONFIGS.get(modId.toLowerCase());
     }
@@ -242,14 +669,16 @@ public class ConfigManager {
     public static ModernConfig getModConfig(String modId) {
         modId = modId.toLowerCase();
         ModernConfig config = MOD_CONFIG_INSTANCES.get(modId);
-        if (config == null) {
-            Map<String, Object> configData = MOD_CONFIGS.get(modId);
-            if (configData != null) {
-                config = new ModernConfig(modId, configData);
-                MOD_CONFIG_INSTANCES.put(modId, config);
-            }
+        if (config != null) {
+            return config;
+        }
+        Map<String, Object> configData = MOD_CONFIGS.get(modId);
+        if (configData == null) {
+            return null;
         }
-        return config;
+        // Atomic, so threads racing on the first lookup all get the same instance (and the same listeners)
+        String id = modId;
+        return MOD_CONFIG_INSTANCES.computeIfAbsent(modId, key -> new ModernConfig(id, configData));
     }
 
     public static Map<String, Map<String, Object>> getAllConfigs() {
@@ -257,8 +686,43 @@ public class ConfigManager {
     }
 
     public static ConfigOption<?> getOption(String modId, String category, String option) {
-        ModernConfig config = getModConfig(modId);
+        ModernConfig config = lookupModConfig(modId);
         return config != null ? config.getOption(category, option) : null;
     }
 
+    /** Look up an option by mod id and dotted path, e.g. ("mymod", "general.enabled"). */
+    public static ConfigOption<?> getOption(String modId, String path) {
+        ModernConfig config = lookupModConfig(modId);
+        return config != null ? config.getOption(path) : null;
+    }
+
+    /** The ModernConfig instance for an already-lowercase mod id, without creating one. */
+    static ModernConfig getRegisteredModConfig(String modId) {
+        return MOD_CONFIG_INSTANCES.get(modId);
+    }
+
+    /** Hot-path variant of getModConfig that only lowercases the id when the exact id is not known. */
+    private static ModernConfig lookupModConfig(String modId) {
+        ModernConfig config = MOD_CONFIG_INSTANCES.get(modId);
+        return config != null ? config : getModConfig(modId);
+    }
+
+    /** Keep the path index in sync when categories gain options after registration. */
+    static void onStructureChanged(String modId) {
+        ModernConfig config = MOD_CONFIG_INSTANCES.get(modId);
+        if (config != null) {
+            config.invalidateIndex();
+        }
+    }
+
+    /** ByteArrayOutputStream that exposes its backing array, so the serialized bytes can be hashed and written without a copy. */
+    private static class WriteBuffer extends ByteArrayOutputStream {
+        WriteBuffer() {
+            super(8192);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
 }
@@ -1,11 +1,32 @@
 package app.qwertz.modernconfig.config;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
 public class ConfigOption<T> {
     private final String id;
     private final String name;
     private final String description;
-    private T value;
+    /** Volatile so a value set on one thread is immediately visible to readers on any other. */
+    private volatile T value;
     private final T defaultValue;
+    /** Id of the mod this option is registered under; null until the config is registered. */
+    private String modId;
+    /** Dotted path of the category this option sits in ("" at the top level); set when the config is registered. */
+    private String categoryPath = "";
+    /** Resolved from {@link ConfigCodecs} when the config is registered; null if the value type cannot be persisted. */
+    private ConfigCodec<T> codec;
+    /** Handles mirroring this option's value; replaced (copy-on-write) when a handle is added. */
+    private volatile ValueHandle[] handles = NO_HANDLES;
+    private static final ValueHandle[] NO_HANDLES = new ValueHandle[0];
+    private static final ChangeListener<?>[] NO_CHANGE_LISTENERS = new ChangeListener<?>[0];
+    /** Copy-on-write so dispatch is a plain array loop without iterator allocation. */
+    @SuppressWarnings("unchecked")
+    private volatile ChangeListener<? super T>[] changeListeners = (ChangeListener<? super T>[]) NO_CHANGE_LISTENERS;
 
     public ConfigOption(String id, String name, String description, T defaultValue) {
         this.id = id;
@@ -32,9 +53,146 @@ public class ConfigOption<T> {
     }
 
     public void setValue(T value) {
+        T oldValue = this.value;
+        // Setting an equal value is not a change: no new snapshot version, no handle refresh, no save
+        if (Objects.equals(oldValue, value)) return;
         this.value = value;
-        if (!ConfigManager.isLoading) {
-            ConfigManager.save();
+        valueChanged();
+        // Inside a transaction, listeners are called once all of its values are in place
+        if (!ConfigTransaction.isApplying()) {
+            fireChanged(oldValue, value);
+            notifyOwnerListeners();
+        }
+    }
+
+    /** Call the listener with the old and new value whenever this option's value actually changes. */
+    public synchronized void onChange(ChangeListener<? super T> listener) {
+        ChangeListener<? super T>[] updated = Arrays.copyOf(changeListeners, changeListeners.length + 1);
+        updated[changeListeners.length] = listener;
+        changeListeners = updated;
+    }
+
+    public synchronized void removeChangeListener(ChangeListener<? super T> listener) {
+        changeListeners = removeListener(changeListeners, listener);
+    }
+
+    /** Primitive subclasses check this before boxing values for the generic listeners. */
+    protected final boolean hasChangeListeners() {
+        return changeListeners.length > 0;
+    }
+
+    protected final void notifyChangeListeners(T oldValue, T newValue) {
+        ChangeListener<? super T>[] listeners = changeListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onChange(oldValue, newValue);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /** Call this option's own listeners; primitive subclasses also call their primitive listeners. */
+    void fireChanged(T oldValue, T newValue) {
+        notifyChangeListeners(oldValue, newValue);
+    }
+
+    /** Notify the mod- and category-level listeners registered on the owning {@link ModernConfig}. */
+    protected final void notifyOwnerListeners() {
+        if (modId == null) return;
+        ModernConfig owner = ConfigManager.getRegisteredModConfig(modId);
+        if (owner != null) {
+            owner.notifyOptionChanged(this);
+        }
+    }
+
+    /** Copy of the array without the first occurrence of the listener (or the same array if it is not present). */
+    static <L> L[] removeListener(L[] listeners, L listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                L[] updated = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                return updated;
+            }
+        }
+        return listeners;
+    }
+
+    /**
+     * Refresh handles, move the owning config to a new snapshot version and mark the mod dirty. Subclasses that
+     * keep their own value storage call this after changing it.
+     */
+    protected void valueChanged() {
+        for (ValueHandle handle : handles) {
+            handle.refresh();
+        }
+        if (modId != null) {
+            ModernConfig owner = ConfigManager.getRegisteredModConfig(modId);
+            if (owner != null) {
+                owner.valuesChanged(this);
+            }
+        }
+        markChanged();
+    }
+
+    /**
+     * This option's handle of the given type, created on first use. Handles only mirror the value, so every caller
+     * shares one per type and resolving a handle again does not add to the handles refreshed on each change.
+     */
+    synchronized <H extends ValueHandle> H handle(Class<H> type, Supplier<H> factory) {
+        for (ValueHandle existing : handles) {
+            if (existing.getClass() == type) {
+                return type.cast(existing);
+            }
+        }
+        H handle = factory.get();
+        ValueHandle[] updated = Arrays.copyOf(handles, handles.length + 1);
+        updated[handles.length] = handle;
+        handles = updated;
+        return handle;
+    }
+
+    /** Mark the owning mod dirty so only its file is rewritten. Subclasses call this after mutating the value in place. */
+    protected void markChanged() {
+        if (modId != null && !ConfigManager.isLoading() && !ConfigTransaction.isApplying()) {
+            ConfigManager.markDirty(modId);
+        }
+    }
+
+    /** Id of the mod this option belongs to, or null if it has not been registered yet. */
+    public String getModId() {
+        return modId;
+    }
+
+    /** Dotted path of the category containing this option, "" for top-level options. */
+    public String getCategoryPath() {
+        return categoryPath;
+    }
+
+    @SuppressWarnings("unchecked")
+    void bind(String modId, String categoryPath) {
+        this.modId = modId;
+        this.categoryPath = categoryPath;
+        this.codec = (ConfigCodec<T>) ConfigCodecs.forOption(this);
+    }
+
+    /** Read this option's value from the reader, keeping the current value if it cannot be converted. */
+    void read(JsonReader reader) throws IOException {
+        if (codec == null) {
+            reader.skipValue();
+            return;
+        }
+        T loaded = codec.read(reader);
+        if (loaded != null) {
+            setValue(loaded);
+        }
+    }
+
+    /** Write this option as a property of the current JSON object; options without a codec or value are left out. */
+    void write(JsonWriter writer, String key) throws IOException {
+        T current = getValue();
+        if (codec != null && current != null) {
+            codec.write(writer.name(key), current);
         }
     }
 
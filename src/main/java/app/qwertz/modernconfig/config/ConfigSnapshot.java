@@ -0,0 +1,117 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable view of all option values of a mod at one point in time, taken with {@link ModernConfig#snapshot()}.
+ * Read several related options from the same snapshot so a concurrent edit or reload cannot change some of them
+ * halfway through. Paths are dotted, as in {@link ModernConfig#getOption(String)}.
+ */
+public final class ConfigSnapshot {
+    /** Values are stored in chunks of 32 slots; a change copies one chunk and the chunk table, the rest is shared. */
+    private static final int CHUNK_BITS = 5;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final long version;
+    /** Dotted path to slot in values; shared by all snapshots of the same option structure. */
+    private final Map<String, Integer> slots;
+    private final Object[][] chunks;
+
+    private ConfigSnapshot(long version, Map<String, Integer> slots, Object[][] chunks) {
+        this.version = version;
+        this.slots = slots;
+        this.chunks = chunks;
+    }
+
+    /** Snapshot of the given values, one per slot. */
+    static ConfigSnapshot of(long version, Map<String, Integer> slots, Object[] values) {
+        Object[][] chunks = new Object[(values.length + CHUNK_MASK) >> CHUNK_BITS][];
+        for (int i = 0; i < chunks.length; i++) {
+            int from = i << CHUNK_BITS;
+            chunks[i] = Arrays.copyOfRange(values, from, Math.min(values.length, from + CHUNK_SIZE));
+        }
+        return new ConfigSnapshot(version, slots, chunks);
+    }
+
+    /** A new version with one slot changed; every chunk but the one holding that slot is shared with this snapshot. */
+    ConfigSnapshot with(long version, int slot, Object value) {
+        Object[][] updated = chunks.clone();
+        Object[] chunk = updated[slot >> CHUNK_BITS].clone();
+        chunk[slot & CHUNK_MASK] = value;
+        updated[slot >> CHUNK_BITS] = chunk;
+        return new ConfigSnapshot(version, slots, updated);
+    }
+
+    /** The same values under a new version. */
+    ConfigSnapshot withVersion(long version) {
+        return new ConfigSnapshot(version, slots, chunks);
+    }
+
+    /** Increases whenever a value changes; equal versions mean equal values. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** True if this snapshot was taken after the other one, i.e. values derived from the other may be stale. */
+    public boolean isNewerThan(ConfigSnapshot other) {
+        return other == null || version > other.version;
+    }
+
+    public boolean contains(String path) {
+        return slots.containsKey(path);
+    }
+
+    /** The value at the path, or null if there is no such option. */
+    public Object get(String path) {
+        Integer slot = slots.get(path);
+        return slot != null ? value(slot) : null;
+    }
+
+    /** @throws IllegalArgumentException if there is no option at that path or its value is not of the given type */
+    public <T> T get(String path, Class<T> type) {
+        Object value = require(path);
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("Option " + path + " is not a " + type.getSimpleName() + " option");
+        }
+        return type.cast(value);
+    }
+
+    /** @throws IllegalArgumentException if there is no boolean option at that path */
+    public boolean getBoolean(String path) {
+        return get(path, Boolean.class);
+    }
+
+    /** @throws IllegalArgumentException if there is no numeric option at that path */
+    public int getInt(String path) {
+        return get(path, Number.class).intValue();
+    }
+
+    /** @throws IllegalArgumentException if there is no numeric option at that path */
+    public long getLong(String path) {
+        return get(path, Number.class).longValue();
+    }
+
+    /** @throws IllegalArgumentException if there is no numeric option at that path */
+    public double getDouble(String path) {
+        return get(path, Number.class).doubleValue();
+    }
+
+    /** @throws IllegalArgumentException if there is no text option at that path */
+    public String getString(String path) {
+        return get(path, String.class);
+    }
+
+    private Object require(String path) {
+        Object value = get(path);
+        if (value == null) {
+            throw new IllegalArgumentException("No value for option " + path);
+        }
+        return value;
+    }
+
+    private Object value(int slot) {
+        return chunks[slot >> CHUNK_BITS][slot & CHUNK_MASK];
+    }
+}
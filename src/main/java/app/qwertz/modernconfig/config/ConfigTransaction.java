@@ -0,0 +1,177 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A batch of option changes applied together, e.g. a preset, an import or a reset to defaults. Obtain one with
+ * {@link ModernConfig#edit} or {@link ConfigManager#edit}. Changes are staged until the edit block returns, then
+ * applied at once: listeners run after every value is in place, each affected mod is saved once, and mod-level
+ * {@link ConfigChangeListener}s get a single event. If the block throws, nothing is applied; if applying a value
+ * fails, the values already applied are restored.
+ */
+public final class ConfigTransaction {
+    /** Set while this thread applies a transaction; options then skip their listeners and dirty marking. */
+    private static final ThreadLocal<ConfigTransaction> APPLYING = new ThreadLocal<>();
+
+    /** Config that paths are resolved against; null for cross-mod transactions. */
+    private final ModernConfig config;
+    private final Map<ConfigOption<?>, Object> staged = new LinkedHashMap<>();
+
+    ConfigTransaction(ModernConfig config) {
+        this.config = config;
+    }
+
+    static boolean isApplying() {
+        return APPLYING.get() != null;
+    }
+
+    public <T> ConfigTransaction set(ConfigOption<T> option, T value) {
+        staged.put(Objects.requireNonNull(option, "option"), value);
+        return this;
+    }
+
+    /**
+     * Stage a value for the option at the dotted path of the config being edited. Numbers are converted to the
+     * option's number type, and enum constants to their name for dropdowns.
+     *
+     * @throws IllegalArgumentException if there is no such option or the value does not fit it
+     * @throws IllegalStateException in a cross-mod transaction; use {@link #set(String, String, Object)}
+     */
+    public ConfigTransaction set(String path, Object value) {
+        if (config == null) {
+            throw new IllegalStateException("Cross-mod transactions need a mod id: set(modId, path, value)");
+        }
+        return stage(config.getModId(), config.getOption(path), path, value);
+    }
+
+    /** @throws IllegalArgumentException if there is no such option or the value does not fit it */
+    public ConfigTransaction set(String modId, String path, Object value) {
+        return stage(modId, ConfigManager.getOption(modId, path), path, value);
+    }
+
+    private ConfigTransaction stage(String modId, ConfigOption<?> option, String path, Object value) {
+        if (option == null) {
+            throw new IllegalArgumentException("No option " + modId + ":" + path);
+        }
+        staged.put(option, coerce(option, value, modId + ":" + path));
+        return this;
+    }
+
+    private static Object coerce(ConfigOption<?> option, Object value, String name) {
+        Object defaultValue = option.getDefaultValue();
+        if (value == null || defaultValue == null || defaultValue.getClass().isInstance(value)) {
+            return value;
+        }
+        if (defaultValue instanceof Number && value instanceof Number number) {
+            if (defaultValue instanceof Integer) return number.intValue();
+            if (defaultValue instanceof Long) return number.longValue();
+            if (defaultValue instanceof Double) return number.doubleValue();
+            if (defaultValue instanceof Float) return number.floatValue();
+        }
+        if (defaultValue instanceof List && value instanceof List) {
+            return value;
+        }
+        // Dropdowns store the constant's name, so set(path, Mode.FAST) works like setEnum(Mode.FAST)
+        if (option instanceof DropdownConfigOption && value instanceof Enum<?> constant
+            && (!(option instanceof EnumConfigOption<?> enumOption) || enumOption.getEnumType().isInstance(constant))) {
+            return constant.name();
+        }
+        throw new IllegalArgumentException("Option " + name + " does not take a " + value.getClass().getSimpleName());
+    }
+
+    public ConfigTransaction reset(ConfigOption<?> option) {
+        staged.put(Objects.requireNonNull(option, "option"), option.getDefaultValue());
+        return this;
+    }
+
+    /**
+     * Reset every option in the category (dotted path, including subcategories) of the config being edited;
+     * "" resets the whole config.
+     */
+    public ConfigTransaction resetCategory(String categoryPath) {
+        if (config == null) {
+            throw new IllegalStateException("Cross-mod transactions cannot reset by category path");
+        }
+        for (ConfigOption<?> option : config.optionsIn(categoryPath)) {
+            reset(option);
+        }
+        return this;
+    }
+
+    /** The value staged for the option, or its current value if nothing is staged. */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ConfigOption<T> option) {
+        return staged.containsKey(option) ? (T) staged.get(option) : option.getValue();
+    }
+
+    void commit() {
+        if (staged.isEmpty()) return;
+        List<ModernConfig> owners = new ArrayList<>();
+        for (ConfigOption<?> option : staged.keySet()) {
+            ModernConfig owner = ownerOf(option);
+            if (owner != null && !owners.contains(owner)) {
+                owners.add(owner);
+            }
+        }
+
+        Map<ConfigOption<?>, Object> previous = new LinkedHashMap<>();
+        owners.forEach(ModernConfig::beginBatch);
+        APPLYING.set(this);
+        try {
+            for (Map.Entry<ConfigOption<?>, Object> entry : staged.entrySet()) {
+                ConfigOption<?> option = entry.getKey();
+                previous.put(option, option.getValue());
+                apply(option, entry.getValue());
+            }
+        } catch (RuntimeException | Error e) {
+            for (Map.Entry<ConfigOption<?>, Object> entry : previous.entrySet()) {
+                try {
+                    apply(entry.getKey(), entry.getValue());
+                } catch (RuntimeException restoreFailure) {
+                    e.addSuppressed(restoreFailure);
+                }
+            }
+            throw e;
+        } finally {
+            APPLYING.remove();
+            owners.forEach(ModernConfig::endBatch);
+        }
+
+        // Every value is in place; now notify, then save each affected mod once
+        Map<String, List<ConfigOption<?>>> changedByMod = new LinkedHashMap<>();
+        for (Map.Entry<ConfigOption<?>, Object> entry : previous.entrySet()) {
+            ConfigOption<?> option = entry.getKey();
+            Object oldValue = entry.getValue();
+            if (Objects.equals(oldValue, option.getValue())) continue;
+            fire(option, oldValue);
+            if (option.getModId() != null) {
+                changedByMod.computeIfAbsent(option.getModId(), key -> new ArrayList<>()).add(option);
+            }
+        }
+        for (Map.Entry<String, List<ConfigOption<?>>> entry : changedByMod.entrySet()) {
+            ConfigManager.markDirty(entry.getKey());
+            ModernConfig owner = ConfigManager.getRegisteredModConfig(entry.getKey());
+            if (owner != null) {
+                owner.notifyOptionsChanged(entry.getValue());
+            }
+        }
+    }
+
+    private static ModernConfig ownerOf(ConfigOption<?> option) {
+        return option.getModId() != null ? ConfigManager.getRegisteredModConfig(option.getModId()) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void apply(ConfigOption<T> option, Object value) {
+        option.setValue((T) value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void fire(ConfigOption<T> option, Object oldValue) {
+        option.fireChanged((T) oldValue, option.getValue());
+    }
+}
@@ -0,0 +1,7 @@
+package app.qwertz.modernconfig.config;
+
+/** Primitive change listener for {@link DoubleConfigOption}; dispatch does not box. */
+@FunctionalInterface
+public interface DoubleChangeListener {
+    void onChange(double oldValue, double newValue);
+}
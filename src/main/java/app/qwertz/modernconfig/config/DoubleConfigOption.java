@@ -0,0 +1,68 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.Arrays;
+
+/** Double option backed by a primitive field; use {@link #getDouble()} and {@link #setDouble(double)} to avoid boxing. */
+public class DoubleConfigOption extends ConfigOption<Double> {
+    private volatile double value;
+    private volatile DoubleChangeListener[] doubleListeners = new DoubleChangeListener[0];
+
+    public DoubleConfigOption(String id, String name, String description, double defaultValue) {
+        super(id, name, description, defaultValue);
+        this.value = defaultValue;
+    }
+
+    public double getDouble() {
+        return value;
+    }
+
+    public void setDouble(double value) {
+        double oldValue = this.value;
+        if (oldValue == value) return;
+        this.value = value;
+        valueChanged();
+        if (ConfigTransaction.isApplying()) return;
+        dispatch(oldValue, value);
+        notifyOwnerListeners();
+    }
+
+    private void dispatch(double oldValue, double newValue) {
+        DoubleChangeListener[] listeners = doubleListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onChange(oldValue, newValue);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        if (hasChangeListeners()) {
+            notifyChangeListeners(oldValue, newValue);
+        }
+    }
+
+    @Override
+    void fireChanged(Double oldValue, Double newValue) {
+        dispatch(oldValue, newValue);
+    }
+
+    /** Like {@link #onChange}, but called with primitive values so dispatch does not allocate. */
+    public synchronized void onDoubleChange(DoubleChangeListener listener) {
+        DoubleChangeListener[] updated = Arrays.copyOf(doubleListeners, doubleListeners.length + 1);
+        updated[doubleListeners.length] = listener;
+        doubleListeners = updated;
+    }
+
+    public synchronized void removeDoubleChangeListener(DoubleChangeListener listener) {
+        doubleListeners = removeListener(doubleListeners, listener);
+    }
+
+    @Override
+    public Double getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Double value) {
+        setDouble(value);
+    }
+}
@@ -0,0 +1,30 @@
+package app.qwertz.modernconfig.config;
+
+/** Pre-resolved view of a numeric option (e.g. a slider) as a double; {@link #get()} is a single field read. */
+public final class DoubleHandle extends ValueHandle {
+    private final ConfigOption<? extends Number> option;
+    private volatile double value;
+
+    DoubleHandle(ConfigOption<? extends Number> option) {
+        this.option = option;
+        refresh();
+    }
+
+    public double get() {
+        return value;
+    }
+
+    public ConfigOption<? extends Number> getOption() {
+        return option;
+    }
+
+    @Override
+    void refresh() {
+        if (option instanceof DoubleConfigOption primitive) {
+            value = primitive.getDouble();
+        } else {
+            Number current = option.getValue();
+            value = current != null ? current.doubleValue() : 0.0;
+        }
+    }
+}
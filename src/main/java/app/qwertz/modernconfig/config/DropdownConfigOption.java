@@ -1,32 +1,58 @@
 package app.qwertz.modernconfig.config;
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class DropdownConfigOption extends ConfigOption<String> {
     private final List<String> options;
+    /** Option to its position, so selecting a value and reading the selected index are O(1). */
+    private final Map<String, Integer> indexByOption;
+    /** Position of the current value in the options, -1 if the value is not one of them. */
+    private volatile int selectedIndex;
     
     public DropdownConfigOption(String key, String description, String category, List<String> options, String defaultValue) {
         super(key, description, category, defaultValue);
-        this.options = new ArrayList<>(options);
+        List<String> values = new ArrayList<>(options);
         
         // Ensure default value is in options, if not add it
-        if (!this.options.contains(defaultValue)) {
-            this.options.add(0, defaultValue);
+        if (!values.contains(defaultValue)) {
+            values.add(0, defaultValue);
+        }
+        this.options = Collections.unmodifiableList(values);
+        this.indexByOption = new HashMap<>();
+        for (int i = values.size() - 1; i >= 0; i--) {
+            indexByOption.put(values.get(i), i);
         }
+        this.selectedIndex = indexOf(defaultValue);
     }
     
     public DropdownConfigOption(String key, String description, String category, List<String> options) {
         this(key, description, category, options, options.isEmpty() ? "" : options.get(0));
     }
+
+    @Override
+    public void setValue(String value) {
+        // Updated first, so change listeners already see the new index
+        selectedIndex = indexOf(value);
+        super.setValue(value);
+    }
     
+    /** Read-only view of the options; no copy is made. */
     public List<String> getOptions() {
-        return new ArrayList<>(options);
+        return options;
+    }
+
+    /** Text shown in the UI for each option, in the same order as {@link #getOptions()}. */
+    public List<String> getOptionLabels() {
+        return options;
     }
     
+    /** Position of the current value in the options (0 if it is not one of them). A field read, no search. */
     public int getSelectedIndex() {
-        String currentValue = getValue();
-        int index = options.indexOf(currentValue);
+        int index = selectedIndex;
         return index >= 0 ? index : 0;
     }
     
@@ -41,10 +67,16 @@ public class DropdownConfigOption extends ConfigOption<String> {
     }
     
     public void setSelectedOption(String option) {
-        if (options.contains(option)) {
+        if (indexByOption.containsKey(option)) {
             setValue(option);
         }
     }
+
+    /** Position of the option, or -1 if it is not one of the options. */
+    public int indexOf(String option) {
+        Integer index = option != null ? indexByOption.get(option) : null;
+        return index != null ? index : -1;
+    }
     
     public int getOptionCount() {
         return options.size();
@@ -56,4 +88,4 @@ public class DropdownConfigOption extends ConfigOption<String> {
         }
         return "";
     }
-} 
\ No newline at end of file
+}
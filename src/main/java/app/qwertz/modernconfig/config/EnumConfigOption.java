@@ -0,0 +1,64 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dropdown over the constants of an enum. The value is persisted as the constant's name, while reads go through
+ * the selected ordinal: {@link #getEnum()} is an array index and comparing {@link #getOrdinal()} is an int compare.
+ * The UI shows each constant's {@code toString()}.
+ */
+public class EnumConfigOption<E extends Enum<E>> extends DropdownConfigOption {
+    private final Class<E> enumType;
+    private final E[] constants;
+    private final List<String> labels;
+
+    public EnumConfigOption(String key, String description, String category, Class<E> enumType, E defaultValue) {
+        super(key, description, category, names(enumType), defaultValue.name());
+        this.enumType = enumType;
+        this.constants = enumType.getEnumConstants();
+        List<String> display = new ArrayList<>(constants.length);
+        for (E constant : constants) {
+            display.add(constant.toString());
+        }
+        this.labels = List.copyOf(display);
+    }
+
+    private static <E extends Enum<E>> List<String> names(Class<E> enumType) {
+        List<String> names = new ArrayList<>();
+        for (E constant : enumType.getEnumConstants()) {
+            names.add(constant.name());
+        }
+        return names;
+    }
+
+    /** Names that are not constants of the enum (e.g. a removed constant in an old file) are ignored. */
+    @Override
+    public void setValue(String value) {
+        if (indexOf(value) >= 0) {
+            super.setValue(value);
+        }
+    }
+
+    @Override
+    public List<String> getOptionLabels() {
+        return labels;
+    }
+
+    public E getEnum() {
+        return constants[getSelectedIndex()];
+    }
+
+    public void setEnum(E value) {
+        setSelectedIndex(value.ordinal());
+    }
+
+    /** Ordinal of the selected constant. */
+    public int getOrdinal() {
+        return getSelectedIndex();
+    }
+
+    public Class<E> getEnumType() {
+        return enumType;
+    }
+}
@@ -0,0 +1,30 @@
+package app.qwertz.modernconfig.config;
+
+/**
+ * Typed, pre-resolved view of an option's value. Obtain one once (e.g. during init) with
+ * {@link ModernConfig#handle(String)} and read it from game code without any lookup or cast.
+ * Stays valid across reloads, since loading updates the same option.
+ */
+public final class Handle<T> extends ValueHandle {
+    private final ConfigOption<T> option;
+    private volatile T value;
+
+    Handle(ConfigOption<T> option) {
+        this.option = option;
+        this.value = option.getValue();
+    }
+
+    public T get() {
+        return value;
+    }
+
+    /** The option backing this handle, e.g. to change its value. */
+    public ConfigOption<T> getOption() {
+        return option;
+    }
+
+    @Override
+    void refresh() {
+        value = option.getValue();
+    }
+}
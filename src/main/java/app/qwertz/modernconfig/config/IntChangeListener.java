@@ -0,0 +1,7 @@
+package app.qwertz.modernconfig.config;
+
+/** Primitive change listener for {@link IntConfigOption}; dispatch does not box. */
+@FunctionalInterface
+public interface IntChangeListener {
+    void onChange(int oldValue, int newValue);
+}
@@ -0,0 +1,68 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.Arrays;
+
+/** Int option backed by a primitive field; use {@link #getInt()} and {@link #setInt(int)} to avoid boxing. */
+public class IntConfigOption extends ConfigOption<Integer> {
+    private volatile int value;
+    private volatile IntChangeListener[] intListeners = new IntChangeListener[0];
+
+    public IntConfigOption(String id, String name, String description, int defaultValue) {
+        super(id, name, description, defaultValue);
+        this.value = defaultValue;
+    }
+
+    public int getInt() {
+        return value;
+    }
+
+    public void setInt(int value) {
+        int oldValue = this.value;
+        if (oldValue == value) return;
+        this.value = value;
+        valueChanged();
+        if (ConfigTransaction.isApplying()) return;
+        dispatch(oldValue, value);
+        notifyOwnerListeners();
+    }
+
+    private void dispatch(int oldValue, int newValue) {
+        IntChangeListener[] listeners = intListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onChange(oldValue, newValue);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        if (hasChangeListeners()) {
+            notifyChangeListeners(oldValue, newValue);
+        }
+    }
+
+    @Override
+    void fireChanged(Integer oldValue, Integer newValue) {
+        dispatch(oldValue, newValue);
+    }
+
+    /** Like {@link #onChange}, but called with primitive values so dispatch does not allocate. */
+    public synchronized void onIntChange(IntChangeListener listener) {
+        IntChangeListener[] updated = Arrays.copyOf(intListeners, intListeners.length + 1);
+        updated[intListeners.length] = listener;
+        intListeners = updated;
+    }
+
+    public synchronized void removeIntChangeListener(IntChangeListener listener) {
+        intListeners = removeListener(intListeners, listener);
+    }
+
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Integer value) {
+        setInt(value);
+    }
+}
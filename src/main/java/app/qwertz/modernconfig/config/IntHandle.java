@@ -0,0 +1,30 @@
+package app.qwertz.modernconfig.config;
+
+/** Pre-resolved view of a numeric option (e.g. a color) as an int; {@link #get()} is a single field read. */
+public final class IntHandle extends ValueHandle {
+    private final ConfigOption<? extends Number> option;
+    private volatile int value;
+
+    IntHandle(ConfigOption<? extends Number> option) {
+        this.option = option;
+        refresh();
+    }
+
+    public int get() {
+        return value;
+    }
+
+    public ConfigOption<? extends Number> getOption() {
+        return option;
+    }
+
+    @Override
+    void refresh() {
+        if (option instanceof IntConfigOption primitive) {
+            value = primitive.getInt();
+        } else {
+            Number current = option.getValue();
+            value = current != null ? current.intValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable list of strings, the value type of {@link ListConfigOption}. Membership checks use a hash index built
+ * on the first {@link #contains} call and kept for the lifetime of the list, so allow/deny lists can be queried
+ * every tick in O(1). Edits return a new list; the mutating {@link java.util.List} methods throw.
+ * <p>
+ * Items are stored in a persistent 32-way trie, so an edit copies only the path to the changed item and shares
+ * everything else with the previous list. Replacing, appending and removing are O(log n), which keeps
+ * per-keystroke edits of long lists and holding on to old values (snapshots, undo) cheap.
+ * <p>
+ * Removing from the middle leaves nodes on that path with children that are not full. Such a node is relaxed: it
+ * keeps the running item count of its children, and a lookup scans that table from the slot the item would be in
+ * if every child were full. Nodes built in one go or only appended to stay regular and are indexed by bit shifts.
+ */
+public final class ItemList extends AbstractList<String> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[0];
+
+    public static final ItemList EMPTY = new ItemList(0, 0, EMPTY_NODE);
+
+    private final int size;
+    /** Bit shift of the root level; 0 when the root is a leaf. */
+    private final int shift;
+    /** A leaf (array of items) when shift is 0, otherwise a {@link Branch}. Nodes are never mutated. */
+    private final Object root;
+    /** Built lazily; a race just builds it twice. */
+    private volatile Set<String> index;
+
+    private ItemList(int size, int shift, Object root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /** The same list if it already is an ItemList, otherwise an immutable copy. */
+    public static ItemList copyOf(Collection<String> items) {
+        if (items instanceof ItemList list) return list;
+        String[] copy = items.toArray(new String[0]);
+        for (String item : copy) {
+            Objects.requireNonNull(item, "item");
+        }
+        return build(copy, copy.length);
+    }
+
+    public static ItemList of(String... items) {
+        return copyOf(Arrays.asList(items));
+    }
+
+    /** Pack the items into full leaves and regular parents level by level. */
+    private static ItemList build(Object[] items, int count) {
+        if (count == 0) return EMPTY;
+        Object[] level = new Object[(count + MASK) >>> BITS];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = Arrays.copyOfRange(items, i << BITS, Math.min(count, (i + 1) << BITS));
+        }
+        int shift = 0;
+        while (level.length > 1) {
+            Object[] parents = new Object[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = new Branch(Arrays.copyOfRange(level, i << BITS, Math.min(level.length, (i + 1) << BITS)), null);
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new ItemList(count, shift, level[0]);
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        Object node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            Branch branch = (Branch) node;
+            int slot = branch.slotOf(index, level);
+            index -= branch.start(slot, level);
+            node = branch.children[slot];
+        }
+        return (String) ((Object[]) node)[index];
+    }
+
+    /** Leaf holding the item at the index; the item's position in that leaf is stored in offset[0]. */
+    private Object[] leafFor(int index, int[] offset) {
+        Object node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            Branch branch = (Branch) node;
+            int slot = branch.slotOf(index, level);
+            index -= branch.start(slot, level);
+            node = branch.children[slot];
+        }
+        offset[0] = index;
+        return (Object[]) node;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** O(1) after the first call on this list. */
+    @Override
+    public boolean contains(Object item) {
+        return item instanceof String && index().contains(item);
+    }
+
+    @Override
+    public int indexOf(Object item) {
+        return contains(item) ? super.indexOf(item) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object item) {
+        return contains(item) ? super.lastIndexOf(item) : -1;
+    }
+
+    private Set<String> index() {
+        Set<String> current = index;
+        if (current == null) {
+            current = new HashSet<>(this);
+            index = current;
+        }
+        return current;
+    }
+
+    /** Walks leaf by leaf instead of descending the trie for every item. */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private final int[] found = new int[1];
+            private int position;
+            private Object[] leaf = EMPTY_NODE;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return position < size;
+            }
+
+            @Override
+            public String next() {
+                if (position >= size) throw new NoSuchElementException();
+                if (offset == leaf.length) {
+                    leaf = leafFor(position, found);
+                    offset = found[0];
+                }
+                position++;
+                return (String) leaf[offset++];
+            }
+        };
+    }
+
+    /** This list with the item appended. O(log n). */
+    public ItemList with(String item) {
+        Objects.requireNonNull(item, "item");
+        if (size == 0) return new ItemList(1, 0, new Object[] {item});
+        Object appended = appendPath(shift, root, item);
+        if (appended != null) {
+            return new ItemList(size + 1, shift, appended);
+        }
+        // No room left under the root: grow the tree by one level
+        int[] sizes = size == 1 << (shift + BITS) ? null : new int[] {size, size + 1};
+        return new ItemList(size + 1, shift + BITS, new Branch(new Object[] {root, newPath(shift, item)}, sizes));
+    }
+
+    /** Copy of the node with the item added at its end, or null if the node has no room left. */
+    private static Object appendPath(int level, Object node, String item) {
+        if (level == 0) {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length == WIDTH) return null;
+            Object[] copy = Arrays.copyOf(leaf, leaf.length + 1);
+            copy[leaf.length] = item;
+            return copy;
+        }
+        Branch branch = (Branch) node;
+        Object[] children = branch.children;
+        int last = children.length - 1;
+        Object child = appendPath(level - BITS, children[last], item);
+        if (child != null) {
+            Object[] copy = children.clone();
+            copy[last] = child;
+            int[] sizes = null;
+            if (branch.sizes != null) {
+                sizes = branch.sizes.clone();
+                sizes[last]++;
+            }
+            return new Branch(copy, sizes);
+        }
+        if (children.length == WIDTH) return null;
+        Object[] copy = Arrays.copyOf(children, children.length + 1);
+        copy[children.length] = newPath(level - BITS, item);
+        int[] sizes = branch.sizes;
+        if (sizes == null && sizeOf(level - BITS, children[last]) != 1 << level) {
+            // The last child had no room without being full; the node cannot be indexed by shifts any more
+            sizes = branch.sizeTable(level);
+        }
+        if (sizes != null) {
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+            sizes[children.length] = sizes[last] + 1;
+        }
+        return new Branch(copy, sizes);
+    }
+
+    private static Object newPath(int level, String item) {
+        return level == 0 ? new Object[] {item} : new Branch(new Object[] {newPath(level - BITS, item)}, null);
+    }
+
+    /** This list with the item at the index replaced. O(log n). */
+    public ItemList with(int index, String item) {
+        Objects.requireNonNull(item, "item");
+        Objects.checkIndex(index, size);
+        if (get(index).equals(item)) return this;
+        return new ItemList(size, shift, replacePath(shift, root, index, item));
+    }
+
+    private static Object replacePath(int level, Object node, int index, String item) {
+        if (level == 0) {
+            Object[] copy = ((Object[]) node).clone();
+            copy[index] = item;
+            return copy;
+        }
+        Branch branch = (Branch) node;
+        int slot = branch.slotOf(index, level);
+        Object[] copy = branch.children.clone();
+        copy[slot] = replacePath(level - BITS, copy[slot], index - branch.start(slot, level), item);
+        return new Branch(copy, branch.sizes);
+    }
+
+    /** This list without the item at the index. O(log n). */
+    public ItemList without(int index) {
+        Objects.checkIndex(index, size);
+        if (size == 1) return EMPTY;
+        Object node = removePath(shift, root, index);
+        int level = shift;
+        // Drop roots that are left with a single child
+        while (level > 0 && ((Branch) node).children.length == 1) {
+            node = ((Branch) node).children[0];
+            level -= BITS;
+        }
+        return new ItemList(size - 1, level, node);
+    }
+
+    /** Copy of the node without the item at the index; null if that leaves the node empty. */
+    private static Object removePath(int level, Object node, int index) {
+        if (level == 0) {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length == 1) return null;
+            Object[] copy = new Object[leaf.length - 1];
+            System.arraycopy(leaf, 0, copy, 0, index);
+            System.arraycopy(leaf, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+        Branch branch = (Branch) node;
+        Object[] children = branch.children;
+        int slot = branch.slotOf(index, level);
+        Object child = removePath(level - BITS, children[slot], index - branch.start(slot, level));
+        int last = children.length - 1;
+        if (child == null && last == 0) return null;
+
+        Object[] copy;
+        if (child != null) {
+            copy = children.clone();
+            copy[slot] = child;
+        } else {
+            copy = new Object[last];
+            System.arraycopy(children, 0, copy, 0, slot);
+            System.arraycopy(children, slot + 1, copy, slot, last - slot);
+        }
+        if (branch.sizes == null && slot == last) {
+            // Only the last child shrank; every other child is still full
+            return new Branch(copy, null);
+        }
+        int[] table = branch.sizeTable(level);
+        int[] sizes;
+        if (child != null) {
+            sizes = table == branch.sizes ? table.clone() : table;
+            for (int i = slot; i < sizes.length; i++) {
+                sizes[i]--;
+            }
+        } else {
+            sizes = new int[last];
+            System.arraycopy(table, 0, sizes, 0, slot);
+            for (int i = slot; i < last; i++) {
+                sizes[i] = table[i + 1] - 1;
+            }
+        }
+        return new Branch(copy, sizes);
+    }
+
+    /** Number of items under a node at the given level. */
+    private static int sizeOf(int level, Object node) {
+        if (level == 0) return ((Object[]) node).length;
+        Branch branch = (Branch) node;
+        if (branch.sizes != null) return branch.sizes[branch.sizes.length - 1];
+        int last = branch.children.length - 1;
+        return (last << level) + sizeOf(level - BITS, branch.children[last]);
+    }
+
+    /** This list without the first occurrence of the item, or the same list if it does not contain it. */
+    public ItemList without(String item) {
+        int position = indexOf(item);
+        return position >= 0 ? without(position) : this;
+    }
+
+    /** This list with later duplicates removed, keeping the order of first occurrence. */
+    public ItemList distinct() {
+        if (index().size() == size) return this;
+        Object[] unique = new LinkedHashSet<>(this).toArray();
+        return build(unique, unique.length);
+    }
+
+    /** Lists derived from each other share nodes, so comparing them skips every shared subtree. */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) return true;
+        if (other instanceof ItemList list) {
+            return size == list.size && (shift != list.shift ? super.equals(list) : nodesEqual(shift, root, list.root));
+        }
+        return super.equals(other);
+    }
+
+    /** Compare two nodes of the same level holding the same number of items. */
+    private static boolean nodesEqual(int level, Object a, Object b) {
+        if (a == b) return true;
+        if (level == 0) return Arrays.equals((Object[]) a, (Object[]) b);
+        Branch left = (Branch) a;
+        Branch right = (Branch) b;
+        boolean aligned = left.children.length == right.children.length
+            && (left.sizes == null && right.sizes == null || Arrays.equals(left.sizeTable(level), right.sizeTable(level)));
+        if (!aligned) {
+            // Split differently by their edit history; compare the items themselves
+            return Arrays.equals(itemsOf(level, a), itemsOf(level, b));
+        }
+        for (int i = 0; i < left.children.length; i++) {
+            if (!nodesEqual(level - BITS, left.children[i], right.children[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object[] itemsOf(int level, Object node) {
+        Object[] items = new Object[sizeOf(level, node)];
+        collect(level, node, items, 0);
+        return items;
+    }
+
+    private static int collect(int level, Object node, Object[] items, int position) {
+        if (level == 0) {
+            Object[] leaf = (Object[]) node;
+            System.arraycopy(leaf, 0, items, position, leaf.length);
+            return position + leaf.length;
+        }
+        for (Object child : ((Branch) node).children) {
+            position = collect(level - BITS, child, items, position);
+        }
+        return position;
+    }
+
+    /**
+     * Inner node. A regular node has no size table: every child but the last is full, so the child holding an item
+     * follows from the index by a shift. A relaxed node stores the running item count after each child instead.
+     */
+    private static final class Branch {
+        final Object[] children;
+        /** Items under children 0..i for each i, or null if the node is regular. */
+        final int[] sizes;
+
+        Branch(Object[] children, int[] sizes) {
+            this.children = children;
+            this.sizes = sizes;
+        }
+
+        /** Slot of the child holding the item at the index (relative to this node). */
+        int slotOf(int index, int level) {
+            // A child holds at most 1 << level items, so the item is in this slot or a later one
+            int slot = index >>> level;
+            if (sizes != null) {
+                while (sizes[slot] <= index) {
+                    slot++;
+                }
+            }
+            return slot;
+        }
+
+        /** Index of the first item under the child in the slot, relative to this node. */
+        int start(int slot, int level) {
+            if (slot == 0) return 0;
+            return sizes == null ? slot << level : sizes[slot - 1];
+        }
+
+        /** The size table, computed for a regular node. */
+        int[] sizeTable(int level) {
+            if (sizes != null) return sizes;
+            int last = children.length - 1;
+            int[] table = new int[children.length];
+            for (int i = 0; i < last; i++) {
+                table[i] = (i + 1) << level;
+            }
+            table[last] = (last << level) + sizeOf(level - BITS, children[last]);
+            return table;
+        }
+    }
+}
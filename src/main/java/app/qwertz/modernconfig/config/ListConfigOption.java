@@ -1,6 +1,5 @@
 package app.qwertz.modernconfig.config;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class ListConfigOption extends ConfigOption<List<String>> {
@@ -8,51 +7,74 @@ public class ListConfigOption extends ConfigOption<List<String>> {
     private final boolean expandable;
 
     public ListConfigOption(String key, String description, String category, List<String> defaultValue, String childName) {
-        super(key, description, category, new ArrayList<>(defaultValue));
+        super(key, description, category, ItemList.copyOf(defaultValue));
         this.childName = childName != null ? childName : "Item";
         this.expandable = true;
     }
 
     public ListConfigOption(String key, String description, String category, String childName) {
-        super(key, description, category, new ArrayList<>());
+        super(key, description, category, ItemList.EMPTY);
         this.childName = childName != null ? childName : "Item";
         this.expandable = true;
     }
 
     public ListConfigOption(String key, String description, String category, String childName, boolean expandable) {
-        super(key, description, category, new ArrayList<>());
+        super(key, description, category, ItemList.EMPTY);
         this.childName = childName != null ? childName : "Item";
         this.expandable = expandable;
     }
 
     public ListConfigOption(String key, String description, String category) {
-        super(key, description, category, new ArrayList<>());
+        super(key, description, category, ItemList.EMPTY);
         this.childName = "Item";
         this.expandable = true;
     }
 
+    // Values are immutable ItemLists; mutators replace the list, so change listeners see distinct old and new values
+
+    /** The current items; read-only, and safe to keep since edits replace the list instead of changing it. */
+    @Override
+    public ItemList getValue() {
+        return (ItemList) super.getValue();
+    }
+
+    @Override
+    public void setValue(List<String> value) {
+        super.setValue(ItemList.copyOf(value));
+    }
+
     public void addItem(String item) {
         if (item != null && !item.trim().isEmpty() && !getValue().contains(item.trim())) {
-            getValue().add(item.trim());
+            setValue(getValue().with(item.trim()));
         }
     }
 
     public void removeItem(int index) {
         if (index >= 0 && index < getValue().size()) {
-            getValue().remove(index);
+            setValue(getValue().without(index));
         }
     }
 
     public void removeItem(String item) {
-        getValue().remove(item);
+        if (getValue().contains(item)) {
+            setValue(getValue().without(item));
+        }
     }
 
     public void updateItem(int index, String newValue) {
         if (index >= 0 && index < getValue().size() && newValue != null && !newValue.trim().isEmpty()) {
-            getValue().set(index, newValue.trim());
+            String trimmed = newValue.trim();
+            if (!trimmed.equals(getValue().get(index))) {
+                setValue(getValue().with(index, trimmed));
+            }
         }
     }
 
+    /** O(1) membership check, e.g. for allow/deny lists queried every tick. */
+    public boolean contains(String item) {
+        return getValue().contains(item);
+    }
+
     public int size() {
         return getValue().size();
     }
@@ -61,14 +83,15 @@ public class ListConfigOption extends ConfigOption<List<String>> {
         return getValue().isEmpty();
     }
 
+    /** Read-only view of the items; no copy is made. */
     public List<String> getItems() {
-        return new ArrayList<>(getValue());
+        return getValue();
     }
 
     public void setItems(List<String> items) {
-        setValue(new ArrayList<>(items));
+        setValue(items);
     }
-    
+
     public String getChildName() {
         return childName;
     }
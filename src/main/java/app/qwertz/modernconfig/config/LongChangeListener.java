@@ -0,0 +1,7 @@
+package app.qwertz.modernconfig.config;
+
+/** Primitive change listener for {@link LongConfigOption}; dispatch does not box. */
+@FunctionalInterface
+public interface LongChangeListener {
+    void onChange(long oldValue, long newValue);
+}
@@ -0,0 +1,68 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.Arrays;
+
+/** Long option backed by a primitive field; use {@link #getLong()} and {@link #setLong(long)} to avoid boxing. */
+public class LongConfigOption extends ConfigOption<Long> {
+    private volatile long value;
+    private volatile LongChangeListener[] longListeners = new LongChangeListener[0];
+
+    public LongConfigOption(String id, String name, String description, long defaultValue) {
+        super(id, name, description, defaultValue);
+        this.value = defaultValue;
+    }
+
+    public long getLong() {
+        return value;
+    }
+
+    public void setLong(long value) {
+        long oldValue = this.value;
+        if (oldValue == value) return;
+        this.value = value;
+        valueChanged();
+        if (ConfigTransaction.isApplying()) return;
+        dispatch(oldValue, value);
+        notifyOwnerListeners();
+    }
+
+    private void dispatch(long oldValue, long newValue) {
+        LongChangeListener[] listeners = longListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onChange(oldValue, newValue);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        if (hasChangeListeners()) {
+            notifyChangeListeners(oldValue, newValue);
+        }
+    }
+
+    @Override
+    void fireChanged(Long oldValue, Long newValue) {
+        dispatch(oldValue, newValue);
+    }
+
+    /** Like {@link #onChange}, but called with primitive values so dispatch does not allocate. */
+    public synchronized void onLongChange(LongChangeListener listener) {
+        LongChangeListener[] updated = Arrays.copyOf(longListeners, longListeners.length + 1);
+        updated[longListeners.length] = listener;
+        longListeners = updated;
+    }
+
+    public synchronized void removeLongChangeListener(LongChangeListener listener) {
+        longListeners = removeListener(longListeners, listener);
+    }
+
+    @Override
+    public Long getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Long value) {
+        setLong(value);
+    }
+}
@@ -2,20 +2,45 @@ package app.qwertz.modernconfig.config;
 
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import app.qwertz.modernconfig.ui.ConfigScreen;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 import net.minecraft.client.Minecraft;
 import net.minecraft.resources.Identifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ModernConfig {
     private final String modId;
     private final Map<String, Object> config;
     private final List<Runnable> saveListeners = new ArrayList<>();
+    private volatile OptionChangeListener[] optionListeners = new OptionChangeListener[0];
+    private volatile CategoryListener[] categoryListeners = new CategoryListener[0];
+    private volatile ConfigChangeListener[] configListeners = new ConfigChangeListener[0];
+    /** Flattened path index built from the config tree on first lookup. */
+    private volatile PathIndex index;
+    /** Incremented whenever a value or the option structure changes; stamps snapshots. Guarded by this. */
+    private long version;
+    /**
+     * Current snapshot, or null until one is asked for and after the option structure changed. Once it exists every
+     * change publishes a successor under the lock, bumping the version in the same step, so a reader always gets a
+     * version together with exactly the values it stands for.
+     */
+    private volatile ConfigSnapshot snapshot;
+    /** Snapshot from before the last structure change; handed out while a transaction is half applied. */
+    private ConfigSnapshot retired;
+    /** Transactions currently applying values to this config, and the options they changed so far. Guarded by this. */
+    private int applyingBatches;
+    private final List<ConfigOption<?>> changedInBatch = new ArrayList<>();
 
     ModernConfig(String modId, Map<String, Object> config) {
         this.modId = modId.toLowerCase();
         this.config = config;
+        buildIndex();
     }
 
     public static ModernConfig create(String modId, Map<String, Object> config) {
@@ -46,38 +71,357 @@ public class ModernConfig {
         return new ConfigScreen(modId);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Look up an option by its path of category ids followed by the option id. One- and two-element paths are
+     * served by the fixed-arity overloads, so prefer calling those directly on hot paths.
+     */
     public ConfigOption<?> getOption(String... path) {
         if (path == null || path.length == 0) return null;
+        if (path.length == 1) return getOption(path[0]);
+        if (path.length == 2) return getOption(path[0], path[1]);
+        return getOption(String.join(".", path));
+    }
+
+    /** Look up an option by its dotted path, e.g. "general.enabled". O(1). */
+    public ConfigOption<?> getOption(String path) {
+        return index().options.get(path);
+    }
+
+    /** Look up an option inside a category by its dotted category path and option id. O(1), no allocation. */
+    public ConfigOption<?> getOption(String category, String option) {
+        Map<String, ConfigOption<?>> options = index().categories.get(category);
+        return options != null ? options.get(option) : null;
+    }
+
+    private PathIndex index() {
+        PathIndex current = index;
+        return current != null ? current : buildIndex();
+    }
 
-        Map<String, Object> current = config;
-        for (int i = 0; i < path.length - 1; i++) {
-            Object value = current.get(path[i]);
-            if (value instanceof Map) {
-                current = (Map<String, Object>) value;
-            } else if (value instanceof CategoryInfo) {
-                current = ((CategoryInfo) value).getOptions();
-            } else {
-                return null;
+    private synchronized PathIndex buildIndex() {
+        if (index == null) {
+            PathIndex built = new PathIndex();
+            indexRecursive(built, "", config);
+            built.slotOptions = built.slotList.toArray(new ConfigOption<?>[0]);
+            for (int i = 0; i < built.slotOptions.length; i++) {
+                built.slotOf.put(built.slotOptions[i], i);
             }
+            index = built;
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void indexRecursive(PathIndex index, String prefix, Map<String, Object> options) {
+        Map<String, ConfigOption<?>> category = index.categories.computeIfAbsent(prefix, key -> new HashMap<>());
+        for (Map.Entry<String, Object> entry : options.entrySet()) {
+            String key = entry.getKey();
+            String path = prefix.isEmpty() ? key : prefix + "." + key;
+            Object value = entry.getValue();
+            if (value instanceof ConfigOption<?> option) {
+                index.options.put(path, option);
+                category.put(key, option);
+                index.slots.put(path, index.slotList.size());
+                index.slotList.add(option);
+            } else if (value instanceof CategoryInfo categoryInfo) {
+                indexRecursive(index, path, categoryInfo.getOptions());
+            } else if (value instanceof Map) {
+                indexRecursive(index, path, (Map<String, Object>) value);
+            }
+        }
+    }
+
+    /** Called when options or categories are added after registration; the index is rebuilt on the next lookup. */
+    synchronized void invalidateIndex() {
+        index = null;
+        version++;
+        if (snapshot != null) {
+            retired = snapshot;
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Immutable view of every option value, stamped with a version that increases whenever a value changes.
+     * While nothing changes the same snapshot is returned, so taking one per tick is a volatile read; compare
+     * {@link ConfigSnapshot#getVersion()} to decide whether values derived from an earlier snapshot are stale.
+     * A change copies only the part of the snapshot holding the changed value; the rest is shared.
+     */
+    public ConfigSnapshot snapshot() {
+        ConfigSnapshot current = snapshot;
+        return current != null ? current : takeSnapshot();
+    }
+
+    private synchronized ConfigSnapshot takeSnapshot() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        if (applyingBatches > 0) {
+            // A transaction is half applied; the snapshot from before it (or before the structure change during it)
+            // still shows a consistent state. beginBatch makes sure there is one
+            return retired;
+        }
+        publishCurrentValues();
+        return snapshot;
+    }
+
+    /** Publish a snapshot of the values as they are now. Caller holds the lock. */
+    private void publishCurrentValues() {
+        PathIndex layout = index();
+        ConfigOption<?>[] options = layout.slotOptions;
+        Object[] values = new Object[options.length];
+        for (int i = 0; i < options.length; i++) {
+            values[i] = options[i].getValue();
+        }
+        // Writers publish under this lock, so a write that lands after the read above publishes into this snapshot
+        snapshot = ConfigSnapshot.of(version, layout.slots, values);
+        retired = null;
+    }
+
+    /**
+     * Called by options after their value changed, before any listener runs. Publishes the option's current value
+     * in a new snapshot version; changes made by a transaction are published together once it has applied all of
+     * them.
+     */
+    synchronized void valuesChanged(ConfigOption<?> option) {
+        if (applyingBatches > 0) {
+            changedInBatch.add(option);
+            return;
+        }
+        version++;
+        ConfigSnapshot current = snapshot;
+        if (current != null) {
+            snapshot = withValue(current, option);
+        }
+    }
+
+    private ConfigSnapshot withValue(ConfigSnapshot current, ConfigOption<?> option) {
+        Integer slot = index().slotOf.get(option);
+        // Read the value under the lock: of two racing writes to one option, the later publish sees the later value
+        return slot != null ? current.with(version, slot, option.getValue()) : current.withVersion(version);
+    }
+
+    synchronized void beginBatch() {
+        if (applyingBatches++ == 0 && snapshot == null) {
+            // None of the batch's values is applied yet; readers get this state until the whole batch is published
+            publishCurrentValues();
+        }
+    }
+
+    synchronized void endBatch() {
+        if (--applyingBatches > 0) return;
+        // Wake a save waiting for the values to be whole again
+        notifyAll();
+        if (changedInBatch.isEmpty()) return;
+        version++;
+        ConfigSnapshot next = snapshot;
+        if (next != null) {
+            // Build the whole change set first; readers see it in one step
+            for (int i = 0; i < changedInBatch.size(); i++) {
+                next = withValue(next, changedInBatch.get(i));
+            }
+            snapshot = next;
+        }
+        changedInBatch.clear();
+    }
+
+    /**
+     * Serialize this config's file content once no transaction is half applied. Holds the lock while writing, so
+     * a transaction starting meanwhile waits and the file never holds part of one.
+     */
+    synchronized void writeJson(OutputStream out, boolean compact) throws IOException {
+        boolean interrupted = false;
+        while (applyingBatches > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        try {
+            ConfigManager.writeJson(out, config, compact);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Apply several changes as one: nothing is applied until the block returns, listeners run once every value is
+     * in place, the file is written once, and {@link #onConfigChange} listeners get a single event. If the block
+     * throws, no value changes.
+     * <pre>{@code
+     * config.edit(tx -> tx
+     *     .set("ui.primary_color", 0x4A90E2)
+     *     .set("ui.theme", "Dark")
+     *     .resetCategory("advanced"));
+     * }</pre>
+     */
+    public void edit(Consumer<ConfigTransaction> edits) {
+        ConfigTransaction transaction = new ConfigTransaction(this);
+        edits.accept(transaction);
+        transaction.commit();
+    }
+
+    /** Options in the category (dotted path, including subcategories), in declaration order; "" for all options. */
+    List<ConfigOption<?>> optionsIn(String categoryPath) {
+        List<ConfigOption<?>> options = new ArrayList<>();
+        for (ConfigOption<?> option : index().slotOptions) {
+            if (isInCategory(option.getCategoryPath(), categoryPath)) {
+                options.add(option);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Resolve a typed handle for the option at the given dotted path. Resolve handles once (e.g. during init);
+     * reading them afterwards is a single field read. Every handle of one type for one option is the same object.
+     *
+     * @throws IllegalArgumentException if there is no option at that path
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Handle<T> handle(String path) {
+        ConfigOption<T> option = (ConfigOption<T>) requireOption(path);
+        return (Handle<T>) option.handle(Handle.class, () -> new Handle<>(option));
+    }
+
+    /** @throws IllegalArgumentException if there is no boolean option at that path */
+    @SuppressWarnings("unchecked")
+    public BooleanHandle booleanHandle(String path) {
+        ConfigOption<?> option = requireOption(path);
+        if (!(option.getDefaultValue() instanceof Boolean)) {
+            throw new IllegalArgumentException("Option " + modId + ":" + path + " is not a boolean option");
+        }
+        return option.handle(BooleanHandle.class, () -> new BooleanHandle((ConfigOption<Boolean>) option));
+    }
+
+    /** @throws IllegalArgumentException if there is no numeric option at that path */
+    public IntHandle intHandle(String path) {
+        ConfigOption<? extends Number> option = requireNumericOption(path);
+        return option.handle(IntHandle.class, () -> new IntHandle(option));
+    }
+
+    /** @throws IllegalArgumentException if there is no numeric option at that path */
+    public DoubleHandle doubleHandle(String path) {
+        ConfigOption<? extends Number> option = requireNumericOption(path);
+        return option.handle(DoubleHandle.class, () -> new DoubleHandle(option));
+    }
+
+    private ConfigOption<?> requireOption(String path) {
+        ConfigOption<?> option = getOption(path);
+        if (option == null) {
+            throw new IllegalArgumentException("No option " + modId + ":" + path);
         }
+        return option;
+    }
 
-        Object option = current.get(path[path.length - 1]);
-        if (option instanceof ConfigOption<?>) {
-            return (ConfigOption<?>) option;
+    @SuppressWarnings("unchecked")
+    private ConfigOption<? extends Number> requireNumericOption(String path) {
+        ConfigOption<?> option = requireOption(path);
+        if (!(option.getDefaultValue() instanceof Number)) {
+            throw new IllegalArgumentException("Option " + modId + ":" + path + " is not a numeric option");
         }
-        return null;
+        return (ConfigOption<? extends Number>) option;
     }
 
     public String getModId() {
         return modId;
     }
 
+    /** Called after this mod's file has been written. To react to individual values, prefer {@link #onOptionChange}. */
     public void onConfigSave(Runnable listener) {
         saveListeners.add(listener);
     }
 
+    /** Call the listener whenever the value of any option of this mod actually changes. */
+    public synchronized void onOptionChange(OptionChangeListener listener) {
+        OptionChangeListener[] updated = Arrays.copyOf(optionListeners, optionListeners.length + 1);
+        updated[optionListeners.length] = listener;
+        optionListeners = updated;
+    }
+
+    public synchronized void removeOptionChangeListener(OptionChangeListener listener) {
+        optionListeners = ConfigOption.removeListener(optionListeners, listener);
+    }
+
+    /** Call the listener whenever an option in the given category (dotted path, including subcategories) changes. */
+    public synchronized void onCategoryChange(String categoryPath, OptionChangeListener listener) {
+        CategoryListener[] updated = Arrays.copyOf(categoryListeners, categoryListeners.length + 1);
+        updated[categoryListeners.length] = new CategoryListener(categoryPath, listener);
+        categoryListeners = updated;
+    }
+
+    /** Call the listener once per change set: after every single change, and once per {@link #edit} transaction. */
+    public synchronized void onConfigChange(ConfigChangeListener listener) {
+        ConfigChangeListener[] updated = Arrays.copyOf(configListeners, configListeners.length + 1);
+        updated[configListeners.length] = listener;
+        configListeners = updated;
+    }
+
+    public synchronized void removeConfigChangeListener(ConfigChangeListener listener) {
+        configListeners = ConfigOption.removeListener(configListeners, listener);
+    }
+
+    void notifyOptionChanged(ConfigOption<?> option) {
+        dispatchOptionChanged(option);
+        if (configListeners.length > 0) {
+            notifyConfigChanged(List.of(option));
+        }
+    }
+
+    /** All options changed by one transaction; option and category listeners run per option, config listeners once. */
+    void notifyOptionsChanged(List<ConfigOption<?>> changed) {
+        for (int i = 0; i < changed.size(); i++) {
+            dispatchOptionChanged(changed.get(i));
+        }
+        if (configListeners.length > 0) {
+            notifyConfigChanged(List.copyOf(changed));
+        }
+    }
+
+    private void notifyConfigChanged(List<ConfigOption<?>> changed) {
+        ConfigChangeListener[] listeners = configListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onConfigChanged(changed);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void dispatchOptionChanged(ConfigOption<?> option) {
+        OptionChangeListener[] listeners = optionListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onOptionChanged(option);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        CategoryListener[] byCategory = categoryListeners;
+        if (byCategory.length == 0) return;
+        String path = option.getCategoryPath();
+        for (int i = 0; i < byCategory.length; i++) {
+            if (byCategory[i].matches(path)) {
+                try {
+                    byCategory[i].listener().onOptionChanged(option);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /** Listeners always run on the client thread, even when the save itself happened on the background writer. */
     void notifySaveListeners() {
+        Minecraft client = Minecraft.getInstance();
+        if (client != null && !client.isSameThread()) {
+            client.execute(this::notifySaveListeners);
+            return;
+        }
         for (Runnable listener : saveListeners) {
             try {
                 listener.run();
@@ -87,10 +431,9 @@ public class ModernConfig {
         }
     }
 
-    // Called internally by ConfigOption when a value changes
+    /** Write this mod's config now; save listeners are notified once the file has been written. */
     void save() {
-        ConfigManager.save();
-        notifySaveListeners();
+        ConfigManager.save(modId);
     }
 
     public static void openGlobalConfig() {
@@ -100,4 +443,30 @@ public class ModernConfig {
     public static ConfigScreen getGlobalConfigScreen() {
         return new ConfigScreen();
     }
-}
\ No newline at end of file
+
+    private record CategoryListener(String categoryPath, OptionChangeListener listener) {
+        /** True for options directly in the category or in one of its subcategories. */
+        boolean matches(String path) {
+            return isInCategory(path, categoryPath);
+        }
+    }
+
+    /** True if the category path is the given category or one of its subcategories ("" contains everything). */
+    private static boolean isInCategory(String path, String categoryPath) {
+        return path.startsWith(categoryPath)
+            && (path.length() == categoryPath.length() || categoryPath.isEmpty() || path.charAt(categoryPath.length()) == '.');
+    }
+
+    /**
+     * Dotted path to option, plus category path to its direct options for allocation-free two-part lookups.
+     * Also numbers the options into slots, which every snapshot of this structure shares.
+     */
+    private static final class PathIndex {
+        final Map<String, ConfigOption<?>> options = new HashMap<>();
+        final Map<String, Map<String, ConfigOption<?>>> categories = new HashMap<>();
+        final Map<String, Integer> slots = new HashMap<>();
+        final Map<ConfigOption<?>, Integer> slotOf = new IdentityHashMap<>();
+        final List<ConfigOption<?>> slotList = new ArrayList<>();
+        ConfigOption<?>[] slotOptions;
+    }
+}
@@ -2,55 +2,94 @@ package app.qwertz.modernconfig.config;
 
 /**
  * End-user settings for the ModernConfig UI. Read from the "modernconfig" config, "settings" category.
+ * <p>
+ * The getters are called by every widget every frame, so the values are kept in an immutable snapshot that is
+ * only recomputed when one of the settings options changes; the getters themselves are plain field reads.
  */
 public final class ModernConfigSettings {
-    private static final String MOD_ID = "modernconfig";
+    static final String MOD_ID = "modernconfig";
     private static final String CATEGORY = "settings";
+    private static final String[] SETTING_IDS = {"enable_animations", "mod_top_exit_button", "show_credit", "animation_speed"};
 
     /** Default animation duration in milliseconds. */
     public static final int DEFAULT_ANIMATION_DURATION = 200;
 
+    private static volatile Snapshot snapshot = new Snapshot(true, "Close", true, DEFAULT_ANIMATION_DURATION);
+
+    private ModernConfigSettings() {
+    }
+
     /** Get whether animations are enabled (open/close, hover, expand, etc.). */
     public static boolean isAnimationsEnabled() {
-        ConfigOption<?> opt = ConfigManager.getOption(MOD_ID, CATEGORY, "enable_animations");
-        if (opt != null && opt.getValue() instanceof Boolean b) {
-            return b;
-        }
-        return true;
+        return snapshot.animationsEnabled;
     }
 
     /** What to show on mod top-level config: "Close" = close screen, "Back" = go to ModernConfig main menu. */
     public static String getModTopExitButton() {
-        ConfigOption<?> opt = ConfigManager.getOption(MOD_ID, CATEGORY, "mod_top_exit_button");
-        if (opt != null && opt.getValue() instanceof String s) {
-            return "Back".equals(s) ? "Back" : "Close";
-        }
-        return "Close";
+        return snapshot.modTopExitButton;
     }
 
     /** Get whether to show the credit line below the config panel. */
     public static boolean isShowCredit() {
-        ConfigOption<?> opt = ConfigManager.getOption(MOD_ID, CATEGORY, "show_credit");
-        if (opt != null && opt.getValue() instanceof Boolean b) {
-            return b;
-        }
-        return true;
+        return snapshot.showCredit;
     }
 
     /** Get animation duration in milliseconds (1 when disabled for instant snap, else Fast=100, Normal=200, Slow=350, Super slow=600). */
     public static int getAnimationDurationMs() {
-        if (!isAnimationsEnabled()) {
-            return 1; // near-instant so one frame completes the animation
+        return snapshot.animationDurationMs;
+    }
+
+    /**
+     * Called by {@link ConfigManager} when ModernConfig's own config is registered, before its file is loaded:
+     * recompute the snapshot whenever one of the settings options changes. Defaults are served until then.
+     */
+    static void watch() {
+        for (String id : SETTING_IDS) {
+            ConfigOption<?> opt = ConfigManager.getOption(MOD_ID, CATEGORY, id);
+            if (opt != null) {
+                opt.onChange((oldValue, newValue) -> recompute());
+            }
+        }
+        recompute();
+    }
+
+    private static void recompute() {
+        boolean animationsEnabled = true;
+        ConfigOption<?> opt = ConfigManager.getOption(MOD_ID, CATEGORY, "enable_animations");
+        if (opt != null && opt.getValue() instanceof Boolean b) {
+            animationsEnabled = b;
         }
-        ConfigOption<?> opt = ConfigManager.getOption(MOD_ID, CATEGORY, "animation_speed");
+
+        String modTopExitButton = "Close";
+        opt = ConfigManager.getOption(MOD_ID, CATEGORY, "mod_top_exit_button");
         if (opt != null && opt.getValue() instanceof String s) {
-            return switch (s) {
-                case "Fast" -> 100;
-                case "Slow" -> 350;
-                case "Super slow" -> 600;
-                default -> DEFAULT_ANIMATION_DURATION;
-            };
+            modTopExitButton = "Back".equals(s) ? "Back" : "Close";
         }
-        return DEFAULT_ANIMATION_DURATION;
+
+        boolean showCredit = true;
+        opt = ConfigManager.getOption(MOD_ID, CATEGORY, "show_credit");
+        if (opt != null && opt.getValue() instanceof Boolean b) {
+            showCredit = b;
+        }
+
+        int animationDurationMs = DEFAULT_ANIMATION_DURATION;
+        if (!animationsEnabled) {
+            animationDurationMs = 1; // near-instant so one frame completes the animation
+        } else {
+            opt = ConfigManager.getOption(MOD_ID, CATEGORY, "animation_speed");
+            if (opt != null && opt.getValue() instanceof String s) {
+                animationDurationMs = switch (s) {
+                    case "Fast" -> 100;
+                    case "Slow" -> 350;
+                    case "Super slow" -> 600;
+                    default -> DEFAULT_ANIMATION_DURATION;
+                };
+            }
+        }
+
+        snapshot = new Snapshot(animationsEnabled, modTopExitButton, showCredit, animationDurationMs);
+    }
+
+    private record Snapshot(boolean animationsEnabled, String modTopExitButton, boolean showCredit, int animationDurationMs) {
     }
 }
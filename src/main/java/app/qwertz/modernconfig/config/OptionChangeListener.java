@@ -0,0 +1,7 @@
+package app.qwertz.modernconfig.config;
+
+/** Mod- or category-level listener, called with the option whose value just changed. Read the new value from it. */
+@FunctionalInterface
+public interface OptionChangeListener {
+    void onOptionChanged(ConfigOption<?> option);
+}
@@ -0,0 +1,38 @@
+package app.qwertz.modernconfig.config;
+
+import java.util.List;
+
+/**
+ * List option that never holds the same item twice, e.g. a block or player allow/deny list. Items keep their
+ * insertion order for the UI, and {@link #contains(String)} is O(1). Duplicates in loaded or assigned values are
+ * dropped, and renaming an item to one that is already present is ignored.
+ */
+public class SetConfigOption extends ListConfigOption {
+
+    public SetConfigOption(String key, String description, String category, List<String> defaultValue, String childName) {
+        super(key, description, category, ItemList.copyOf(defaultValue).distinct(), childName);
+    }
+
+    public SetConfigOption(String key, String description, String category, String childName) {
+        super(key, description, category, childName);
+    }
+
+    public SetConfigOption(String key, String description, String category, String childName, boolean expandable) {
+        super(key, description, category, childName, expandable);
+    }
+
+    public SetConfigOption(String key, String description, String category) {
+        super(key, description, category);
+    }
+
+    @Override
+    public void setValue(List<String> value) {
+        super.setValue(ItemList.copyOf(value).distinct());
+    }
+
+    @Override
+    public void updateItem(int index, String newValue) {
+        if (newValue != null && contains(newValue.trim())) return;
+        super.updateItem(index, newValue);
+    }
+}
@@ -1,6 +1,6 @@
 package app.qwertz.modernconfig.config;
 
-public class SliderConfigOption extends ConfigOption<Double> {
+public class SliderConfigOption extends DoubleConfigOption {
     private final double minValue;
     private final double maxValue;
     private final int precision;
@@ -13,7 +13,7 @@ public class SliderConfigOption extends ConfigOption<Double> {
         this.precision = precision;
         
         // Ensure default value is within bounds
-        setValue(Math.max(minValue, Math.min(maxValue, defaultValue)));
+        setDouble(defaultValue);
     }
 
     public double getMinValue() {
@@ -29,7 +29,7 @@ public class SliderConfigOption extends ConfigOption<Double> {
     }
 
     @Override
-    public void setValue(Double value) {
-        super.setValue(Math.max(minValue, Math.min(maxValue, value)));
+    public void setDouble(double value) {
+        super.setDouble(Math.max(minValue, Math.min(maxValue, value)));
     }
 } 
\ No newline at end of file
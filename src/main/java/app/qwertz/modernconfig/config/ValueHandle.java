@@ -0,0 +1,9 @@
+package app.qwertz.modernconfig.config;
+
+/**
+ * Base of the typed handles handed out by {@link ModernConfig}. A handle mirrors its option's value in a plain
+ * field that the option refreshes whenever the value changes, so reads never touch the option tree.
+ */
+abstract class ValueHandle {
+    abstract void refresh();
+}
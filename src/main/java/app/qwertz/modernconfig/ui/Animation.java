@@ -0,0 +1,88 @@
+package app.qwertz.modernconfig.ui;
+
+/**
+ * A value that moves toward a target, driven by the {@link FrameClock}. Changing the target wakes it; once it
+ * arrives it is dropped from the clock until the target changes again, so a settled animation costs nothing per
+ * frame and reading it is a field read. Render thread only.
+ */
+public final class Animation {
+    private final Easing easing;
+    private final float speed;
+    private float progress;
+    private float target;
+    private float eased;
+    /** Whether the clock currently advances this animation; only the clock and {@link #setTarget} change it. */
+    boolean awake;
+
+    /**
+     * @param speed how many times per animation duration (the "animation speed" setting) it can cover the range
+     *              0 to 1
+     */
+    public Animation(Easing easing, float speed) {
+        this(easing, speed, 0.0f);
+    }
+
+    public Animation(Easing easing, float speed, float initial) {
+        this.easing = easing;
+        this.speed = speed;
+        this.progress = initial;
+        this.target = initial;
+        this.eased = easing.apply(initial);
+    }
+
+    public void setTarget(boolean on) {
+        setTarget(on ? 1.0f : 0.0f);
+    }
+
+    public void setTarget(float target) {
+        if (this.target == target) return;
+        this.target = target;
+        if (!awake) {
+            FrameClock.wake(this);
+        }
+    }
+
+    /** Jump straight to a value, e.g. to restart a transition from 0. */
+    public void jumpTo(float value) {
+        progress = value;
+        target = value;
+        eased = easing.apply(value);
+    }
+
+    /** Eased value. */
+    public float get() {
+        return eased;
+    }
+
+    /** Linear progress, before easing. */
+    public float getProgress() {
+        return progress;
+    }
+
+    public float getTarget() {
+        return target;
+    }
+
+    public boolean isSettled() {
+        return progress == target;
+    }
+
+    /** Arrive at the target now; the clock drops it afterwards. */
+    void settle() {
+        progress = target;
+        eased = easing.apply(target);
+        awake = false;
+    }
+
+    /** Move toward the target by {@code step} animation durations; returns true once it has arrived. */
+    boolean advance(float step) {
+        float distance = step * speed;
+        if (progress < target) {
+            progress = Math.min(target, progress + distance);
+        } else if (progress > target) {
+            progress = Math.max(target, progress - distance);
+        }
+        eased = easing.apply(progress);
+        return progress == target;
+    }
+}
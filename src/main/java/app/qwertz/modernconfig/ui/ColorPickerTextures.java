@@ -0,0 +1,162 @@
+package app.qwertz.modernconfig.ui;
+
+import com.mojang.blaze3d.platform.NativeImage;
+import java.awt.Color;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.resources.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Textures for {@link ModernColorPicker}: the hue bar, which never changes, and the saturation/brightness field for
+ * a hue, one texel per GUI pixel. Fields are kept in a few slots reused least-recently-used first, so a field is
+ * only regenerated when a picker's hue changes and pickers visible in the same frame never share a slot. Only used
+ * from the render thread; {@link #releaseAll()} frees them on resource reload.
+ */
+final class ColorPickerTextures {
+    private static final Logger LOGGER = LoggerFactory.getLogger("ModernConfig");
+    /** Saturation/brightness fields kept at once; more than the pickers that can be visible in one frame. */
+    private static final int FIELD_SLOTS = 4;
+    private static final Field[] FIELDS = new Field[FIELD_SLOTS];
+    private static Identifier hueBar;
+    private static int hueBarWidth;
+    private static int hueBarHeight;
+    private static long useCounter;
+    /** Set if a texture could not be created; the picker then draws with fills until the next reload. */
+    private static boolean unavailable;
+
+    private ColorPickerTextures() {
+    }
+
+    /** Vertical hue gradient, red at the top, or null if textures are not available. */
+    static Identifier hueBar(int width, int height) {
+        if (unavailable) return null;
+        if (hueBar != null && hueBarWidth == width && hueBarHeight == height) return hueBar;
+        try {
+            NativeImage image = new NativeImage(width, height, true);
+            for (int y = 0; y < height; y++) {
+                int argb = 0xFF000000 | Color.HSBtoRGB((float) y / (height - 1), 1.0f, 1.0f);
+                for (int x = 0; x < width; x++) {
+                    image.setPixel(x, y, argb);
+                }
+            }
+            release(hueBar);
+            hueBar = register("color_picker/hue_bar", image);
+            hueBarWidth = width;
+            hueBarHeight = height;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to create the color picker hue bar; drawing it with fills", e);
+            unavailable = true;
+            return null;
+        }
+        return hueBar;
+    }
+
+    /**
+     * Saturation (left to right) and brightness (top to bottom) field for the hue, or null if textures are not
+     * available.
+     */
+    static Identifier saturationBrightness(float hue, int width, int height) {
+        if (unavailable) return null;
+        Field leastRecent = null;
+        for (int i = 0; i < FIELD_SLOTS; i++) {
+            Field field = FIELDS[i];
+            if (field == null) {
+                field = FIELDS[i] = new Field("color_picker/field_" + i);
+            }
+            if (field.texture != null && field.hue == hue && field.width == width && field.height == height) {
+                field.lastUse = ++useCounter;
+                return field.id;
+            }
+            if (leastRecent == null || field.lastUse < leastRecent.lastUse) {
+                leastRecent = field;
+            }
+        }
+        try {
+            leastRecent.paint(hue, width, height);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to create a color picker field; drawing it with fills", e);
+            unavailable = true;
+            return null;
+        }
+        leastRecent.lastUse = ++useCounter;
+        return leastRecent.id;
+    }
+
+    /** Free every texture. */
+    static void releaseAll() {
+        release(hueBar);
+        hueBar = null;
+        for (Field field : FIELDS) {
+            if (field != null && field.texture != null) {
+                release(field.id);
+                field.texture = null;
+            }
+        }
+        unavailable = false;
+    }
+
+    private static Identifier register(String name, NativeImage image) {
+        Identifier id = Identifier.fromNamespaceAndPath("modernconfig", name);
+        register(id, image);
+        return id;
+    }
+
+    private static DynamicTexture register(Identifier id, NativeImage image) {
+        DynamicTexture texture = new DynamicTexture(() -> "ModernConfig " + id.getPath(), image);
+        Minecraft.getInstance().getTextureManager().register(id, texture);
+        return texture;
+    }
+
+    private static void release(Identifier id) {
+        Minecraft client = Minecraft.getInstance();
+        if (id != null && client != null) {
+            client.getTextureManager().release(id);
+        }
+    }
+
+    private static final class Field {
+        final Identifier id;
+        DynamicTexture texture;
+        float hue;
+        int width;
+        int height;
+        long lastUse;
+
+        Field(String name) {
+            this.id = Identifier.fromNamespaceAndPath("modernconfig", name);
+        }
+
+        void paint(float hue, int width, int height) {
+            boolean resized = texture == null || this.width != width || this.height != height;
+            NativeImage image = resized ? new NativeImage(width, height, true) : texture.getPixels();
+            // With the hue fixed, each channel is brightness * (1 - saturation * (1 - pure hue channel))
+            int pure = Color.HSBtoRGB(hue, 1.0f, 1.0f);
+            float red = 255 - (pure >> 16 & 0xFF);
+            float green = 255 - (pure >> 8 & 0xFF);
+            float blue = 255 - (pure & 0xFF);
+            for (int y = 0; y < height; y++) {
+                float brightness = 1.0f - (float) y / (height - 1);
+                for (int x = 0; x < width; x++) {
+                    float saturation = (float) x / (width - 1);
+                    int r = (int) (brightness * (255 - saturation * red) + 0.5f);
+                    int g = (int) (brightness * (255 - saturation * green) + 0.5f);
+                    int b = (int) (brightness * (255 - saturation * blue) + 0.5f);
+                    image.setPixel(x, y, 0xFF000000 | r << 16 | g << 8 | b);
+                }
+            }
+            if (resized) {
+                if (texture != null) {
+                    release(id);
+                }
+                texture = register(id, image);
+            } else {
+                texture.upload();
+            }
+            this.hue = hue;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
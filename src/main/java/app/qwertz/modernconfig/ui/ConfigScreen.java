@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.function.Consumer;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.client.gui.components.AbstractWidget;
@@ -20,9 +21,8 @@ import net.minecraft.resources.Identifier;
 import net.minecraft.world.item.Item;
 
 public class ConfigScreen extends Screen {
-    private float openProgress = 0.0f;
-    private float transitionProgress = 1.0f;
-    private long lastTime = System.currentTimeMillis();
+    private final Animation open = new Animation(Easing.OUT_EXPO, 2.0f);
+    private final Animation transition = new Animation(Easing.OUT_EXPO, 2.0f, 1.0f);
     private boolean closing = false;
     private ModernContainer mainContainer;
     private static Stack<ModernContainer> containerStack = new Stack<>();
@@ -64,22 +64,11 @@ public class ConfigScreen extends Screen {
             height,
             theme
         );
-
-        // Set container title and setup
-        Component title = getTitle();
-        container.setTitle(title);
-        container.setPadding(12);
-        container.setColumns(1);
+        setUpPage(container, getTitle());
 
         // Add back button if not at root
         if (!currentPath.isEmpty()) {
-            ModernButton backButton = new ModernButton(
-                0, 0, 100, 20,
-                Component.literal("Back"),
-                () -> navigateBack(),
-                theme
-            );
-            container.addElement(backButton, new ModernContainer.LayoutOptions().setSpanColumns(1));
+            addButton(container, "Back", this::navigateBack, theme);
         }
 
         // Handle global config screen (mod list)
@@ -92,28 +81,34 @@ public class ConfigScreen extends Screen {
         // Add done/close/back button only on root windows (mod list or mod's root config)
         if (currentPath.isEmpty()) {
             if (modId == null) {
-                ModernButton doneButton = new ModernButton(
-                    0, 0, 100, 20,
-                    Component.literal("Done"),
-                    this::closeScreen,
-                    theme
-                );
-                container.addElement(doneButton, new ModernContainer.LayoutOptions().setSpanColumns(1));
+                addButton(container, "Done", this::closeScreen, theme);
             } else {
                 boolean useBack = "Back".equals(ModernConfigSettings.getModTopExitButton());
-                ModernButton exitButton = new ModernButton(
-                    0, 0, 100, 20,
-                    Component.literal(useBack ? "Back" : "Close"),
-                    useBack ? this::navigateBackToMainMenu : this::closeScreen,
-                    theme
-                );
-                container.addElement(exitButton, new ModernContainer.LayoutOptions().setSpanColumns(1));
+                addButton(container, useBack ? "Back" : "Close", useBack ? this::navigateBackToMainMenu : this::closeScreen, theme);
             }
         }
 
         return container;
     }
 
+    /** Title and layout shared by every page of the screen: one column with 12 pixels of padding. */
+    static void setUpPage(ModernContainer container, Component title) {
+        container.setTitle(title);
+        container.setPadding(12);
+        container.setColumns(1);
+    }
+
+    /** A navigation button (Back, Done, Close) below what the page already holds. */
+    static void addButton(ModernContainer container, String label, Runnable onClick, ModernConfigTheme theme) {
+        ModernButton button = new ModernButton(
+            0, 0, 100, 20,
+            Component.literal(label),
+            onClick,
+            theme
+        );
+        container.addElement(button, new ModernContainer.LayoutOptions().setSpanColumns(1));
+    }
+
     public Component getTitle() {
         if (modId == null) {
             return Component.literal("ModernConfig Settings");
@@ -180,19 +175,24 @@ public class ConfigScreen extends Screen {
             getNestedCategory(config, currentPath);
 
         if (currentCategory != null) {
-            for (Map.Entry<String, Object> entry : currentCategory.entrySet()) {
-                if (entry.getValue() instanceof CategoryInfo categoryInfo) {
-                    ModernCategory categoryButton = new ModernCategory(
-                        0, 0, width - 24, 60,
-                        Component.literal(categoryInfo.getTitle()),
-                        Component.literal(categoryInfo.getDescription()),
-                        theme,
-                        category -> navigateToCategory(entry.getKey())
-                    );
-                    container.addElement(categoryButton, new ModernContainer.LayoutOptions().setFullWidth(true));
-                } else if (entry.getValue() instanceof ConfigOption<?> opt) {
-                    addOptionToContainer(container, opt, theme);
-                }
+            addEntries(container, currentCategory, width, theme, this::navigateToCategory);
+        }
+    }
+
+    /** A button for each subcategory and a widget for each option of a category, in the order they were declared. */
+    static void addEntries(ModernContainer container, Map<String, Object> category, int width, ModernConfigTheme theme, Consumer<String> openCategory) {
+        for (Map.Entry<String, Object> entry : category.entrySet()) {
+            if (entry.getValue() instanceof CategoryInfo categoryInfo) {
+                ModernCategory categoryButton = new ModernCategory(
+                    0, 0, width - 24, 60,
+                    Component.literal(categoryInfo.getTitle()),
+                    Component.literal(categoryInfo.getDescription()),
+                    theme,
+                    button -> openCategory.accept(entry.getKey())
+                );
+                container.addElement(categoryButton, new ModernContainer.LayoutOptions().setFullWidth(true));
+            } else if (entry.getValue() instanceof ConfigOption<?> opt) {
+                addOptionToContainer(container, opt, theme);
             }
         }
     }
@@ -217,24 +217,21 @@ public class ConfigScreen extends Screen {
         return current;
     }
 
-    private void addOptionToContainer(ModernContainer container, ConfigOption<?> opt, ModernConfigTheme theme) {
+    private static void addOptionToContainer(ModernContainer container, ConfigOption<?> opt, ModernConfigTheme theme) {
         if (opt instanceof SliderConfigOption sliderOpt) {
             ModernSlider slider = new ModernSlider(
                 0, 0, 200, 30,
                 Component.literal(sliderOpt.getDescription()),
                 sliderOpt.getMinValue(),
                 sliderOpt.getMaxValue(),
-                sliderOpt.getValue(),
+                sliderOpt.getDouble(),
                 sliderOpt.getPrecision(),
-                newVal -> {
-                    sliderOpt.setValue(newVal);
-                    // Update value immediately for visual feedback
+                (double newVal) -> {
+                    // Update value immediately for visual feedback; the write is deferred and coalesced
+                    sliderOpt.setDouble(newVal);
                 },
                 theme
-            ).setOnDragComplete(newVal -> {
-                // Save only when dragging is complete
-                ConfigManager.save();
-            });
+            );
             container.addElement(slider, new ModernContainer.LayoutOptions().setFullWidth(true));
         } else if (opt instanceof ListConfigOption listOpt) {
             ModernListWidget listWidget = new ModernListWidget(
@@ -248,26 +245,22 @@ public class ConfigScreen extends Screen {
             ModernColorPicker colorPicker = new ModernColorPicker(
                 0, 0, 200, 30,
                 Component.literal(colorOpt.getDescription()),
-                colorOpt.getValue(),
-                newVal -> {
-                    colorOpt.setValue(newVal);
-                    // Update value immediately for visual feedback
+                colorOpt.getInt(),
+                (int newVal) -> {
+                    // Update value immediately for visual feedback; the write is deferred and coalesced
+                    colorOpt.setInt(newVal);
                 },
                 theme
-            ).setOnColorComplete(newVal -> {
-                // Save only when color selection is complete
-                ConfigManager.save();
-            });
+            );
             container.addElement(colorPicker, new ModernContainer.LayoutOptions().setFullWidth(true));
         } else if (opt instanceof DropdownConfigOption dropdownOpt) {
             ModernDropdown dropdown = new ModernDropdown(
                 0, 0, 200, 23,
                 Component.literal(dropdownOpt.getDescription()),
-                dropdownOpt.getOptions(),
+                dropdownOpt.getOptionLabels(),
                 dropdownOpt.getSelectedIndex(),
                 newIndex -> {
                     dropdownOpt.setSelectedIndex(newIndex);
-                    ConfigManager.save();
                 },
                 theme
             );
@@ -286,7 +279,6 @@ public class ConfigScreen extends Screen {
                 item,
                 newItem -> {
                     itemOpt.setValue(BuiltInRegistries.ITEM.getKey(newItem));
-                    ConfigManager.save();
                 },
                 theme
             );
@@ -298,7 +290,6 @@ public class ConfigScreen extends Screen {
                         (Boolean) opt.getValue(),
                         newVal -> {
                             ((ConfigOption<Boolean>) opt).setValue(newVal);
-                            ConfigManager.save();
                         },
                         theme
                 );
@@ -310,7 +301,6 @@ public class ConfigScreen extends Screen {
                 (String) opt.getValue(),
                 newVal -> {
                     ((ConfigOption<String>) opt).setValue(newVal);
-                    ConfigManager.save();
                 },
                 32,
                 theme
@@ -324,7 +314,7 @@ public class ConfigScreen extends Screen {
         ModernContainer newContainer = createContainerForPath(mainContainer.getWidth(), mainContainer.getHeight());
         previousContainer = containerStack.peek();
         containerStack.push(newContainer);
-        transitionProgress = 0.0f;
+        startTransition();
         isTransitioningBack = false;
     }
 
@@ -332,7 +322,7 @@ public class ConfigScreen extends Screen {
         if (!currentPath.isEmpty()) {
             currentPath.remove(currentPath.size() - 1);
             previousContainer = containerStack.pop();
-            transitionProgress = 0.0f;
+            startTransition();
             isTransitioningBack = true;
         }
     }
@@ -347,7 +337,7 @@ public class ConfigScreen extends Screen {
         previousContainer = containerStack.peek();
         ModernContainer newContainer = createContainerForPath(mainContainer.getWidth(), mainContainer.getHeight());
         containerStack.push(newContainer);
-        transitionProgress = 0.0f;
+        startTransition();
         isTransitioningBack = false;
     }
 
@@ -373,10 +363,16 @@ public class ConfigScreen extends Screen {
             containerStack.push(newContainer);
         }
 
-        transitionProgress = 0.0f;
+        startTransition();
         isTransitioningBack = true;
     }
 
+    /** Restart the swipe between the previous and the current container. */
+    private void startTransition() {
+        transition.jumpTo(0.0f);
+        transition.setTarget(1.0f);
+    }
+
     private void closeScreen() {
         closing = true;
     }
@@ -392,6 +388,13 @@ public class ConfigScreen extends Screen {
         super.onClose();
     }
 
+    @Override
+    public void removed() {
+        // Finish whatever this screen left moving, so the frame clock lets go of its widgets
+        FrameClock.settleAll();
+        super.removed();
+    }
+
 
     private String formatCategoryName(String categoryName) {
         return categoryName.substring(0, 1).toUpperCase() + categoryName.substring(1);
@@ -399,28 +402,21 @@ public class ConfigScreen extends Screen {
 
     @Override
     public void extractRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        int animationDuration = ModernConfigSettings.getAnimationDurationMs();
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (currentTime - lastTime) / (float)animationDuration;
-        lastTime = currentTime;
+        // The one time sample of the frame; advances every running widget animation
+        FrameClock.tick();
 
         if (closing) {
-            openProgress = Math.max(0.0f, openProgress - deltaTime * 2);
-            if (openProgress <= 0.0f) {
+            open.setTarget(0.0f);
+            if (open.getProgress() <= 0.0f) {
                 onClose();
                 return;
             }
         } else {
-            openProgress = Math.min(1.0f, openProgress + deltaTime * 2);
-        }
-
-        // Update transition animation
-        if (transitionProgress < 1.0f) {
-            transitionProgress = Math.min(1.0f, transitionProgress + deltaTime * 2);
+            open.setTarget(1.0f);
         }
 
-        float easedProgress = RenderUtil.easeOutExpo(openProgress);
-        float easedTransition = RenderUtil.easeOutExpo(transitionProgress);
+        float easedProgress = open.get();
+        float easedTransition = transition.get();
 
         // Draw darker background with blur
         RenderUtil.drawBlurredBackground(context, 0, 0, width, height, 0.7f * easedProgress);
@@ -433,7 +429,7 @@ public class ConfigScreen extends Screen {
         int baseY = 50;
 
         // Apply transition animation
-        if (transitionProgress < 1.0f && previousContainer != null) {
+        if (transition.getProgress() < 1.0f && previousContainer != null) {
             int transitionOffset = isTransitioningBack ? -currentContainer.getWidth() : currentContainer.getWidth();
             
             // Calculate positions for animation
@@ -495,7 +491,7 @@ public class ConfigScreen extends Screen {
             int creditX = width / 2 - textWidth / 2;
             int creditY = baseY + currentContainer.getHeight() + 10;
             int creditColor = RenderUtil.applyAlpha(0xFFAAAAAA, easedProgress * 0.8f);
-            context.text(font, creditText, creditX, creditY, creditColor);
+            RenderUtil.text(context, font, creditText, creditX, creditY, creditColor);
         }
     }
 
@@ -0,0 +1,278 @@
+package app.qwertz.modernconfig.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.client.gui.Font;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Collects draw calls in order and sends them to a {@link DrawTarget} on {@link #flush}, doing less work on the way:
+ * <ul>
+ *   <li>empty and fully transparent fills are dropped;</li>
+ *   <li>a fill that continues the previous one (same color, touching along a whole edge) extends it instead;</li>
+ *   <li>on flush, a fill or blit that lies entirely inside a later opaque fill drawn under the same scissor is never
+ *   visible and is skipped.</li>
+ * </ul>
+ * Text, items, gradients and scissor changes are queued like everything else, so batching carries on across them
+ * and every call reaches the target in the order it was made: the game layers an element above text submitted
+ * before it, and that still happens exactly where it did without the buffer. Only the previous call is considered
+ * for merging, so blending is unchanged too. Not thread-safe; commands are pooled and reused between flushes.
+ */
+public final class DrawBuffer implements DrawTarget {
+    /** Opaque fills remembered while culling; keeps a flush linear in the number of commands. */
+    private static final int MAX_OCCLUDERS = 16;
+
+    private static final int FILL = 0;
+    private static final int BLIT = 1;
+    private static final int GRADIENT = 2;
+    private static final int TEXT = 3;
+    private static final int ITEM = 4;
+    private static final int SCISSOR = 5;
+    private static final int NO_SCISSOR = 6;
+
+    private final List<Command> commands = new ArrayList<>();
+    private final Command[] occluders = new Command[MAX_OCCLUDERS];
+    private int size;
+
+    /** Queue a fill; arguments are as for {@code GuiGraphicsExtractor.fill}, corners in either order. */
+    @Override
+    public void fill(int x1, int y1, int x2, int y2, int color) {
+        if (x1 > x2) {
+            int swap = x1;
+            x1 = x2;
+            x2 = swap;
+        }
+        if (y1 > y2) {
+            int swap = y1;
+            y1 = y2;
+            y2 = swap;
+        }
+        if (x1 == x2 || y1 == y2 || (color >>> 24) == 0) return;
+        if (size > 0) {
+            Command last = commands.get(size - 1);
+            if (last.kind == FILL && last.color == color && merge(last, x1, y1, x2, y2)) return;
+        }
+        next(FILL).set(x1, y1, x2, y2, color);
+    }
+
+    @Override
+    public void fillGradient(int x1, int y1, int x2, int y2, int topColor, int bottomColor) {
+        Command command = next(GRADIENT);
+        command.set(x1, y1, x2, y2, topColor);
+        command.color2 = bottomColor;
+    }
+
+    /** Queue a tinted blit; arguments are as for {@code GuiGraphicsExtractor.blit}. */
+    @Override
+    public void blit(Identifier texture, int x, int y, float u, float v, int width, int height, int textureWidth, int textureHeight, int color) {
+        if (width <= 0 || height <= 0 || (color >>> 24) == 0) return;
+        Command command = next(BLIT);
+        command.texture = texture;
+        command.u = u;
+        command.v = v;
+        command.textureWidth = textureWidth;
+        command.textureHeight = textureHeight;
+        command.set(x, y, x + width, y + height, color);
+    }
+
+    @Override
+    public void text(Font font, String text, int x, int y, int color, boolean shadow) {
+        queueText(font, text, x, y, color, shadow);
+    }
+
+    @Override
+    public void text(Font font, Component text, int x, int y, int color, boolean shadow) {
+        queueText(font, text, x, y, color, shadow);
+    }
+
+    private void queueText(Font font, Object text, int x, int y, int color, boolean shadow) {
+        Command command = next(TEXT);
+        command.font = font;
+        command.payload = text;
+        command.shadow = shadow;
+        command.set(x, y, x, y, color);
+    }
+
+    @Override
+    public void item(ItemStack stack, int x, int y) {
+        Command command = next(ITEM);
+        command.payload = stack;
+        command.set(x, y, x, y, 0);
+    }
+
+    @Override
+    public void enableScissor(int x1, int y1, int x2, int y2) {
+        next(SCISSOR).set(x1, y1, x2, y2, 0);
+    }
+
+    @Override
+    public void disableScissor() {
+        next(NO_SCISSOR);
+    }
+
+    /** Number of queued commands, after merging. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Send the visible queued commands to the target in order and empty the buffer. */
+    public void flush(DrawTarget target) {
+        if (size == 0) return;
+        // Walk back to front: whatever a later opaque fill covers completely is painted over anyway
+        int occluderCount = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            Command command = commands.get(i);
+            if (command.kind == SCISSOR || command.kind == NO_SCISSOR) {
+                // Fills after this point were clipped differently from what comes before it
+                occluderCount = clearOccluders(occluderCount);
+                continue;
+            }
+            if (command.kind != FILL && command.kind != BLIT) continue;
+            command.culled = isOccluded(command, occluderCount);
+            if (command.culled || command.kind == BLIT || (command.color >>> 24) != 0xFF) continue;
+            if (occluderCount < MAX_OCCLUDERS) {
+                occluders[occluderCount++] = command;
+            } else {
+                replaceSmallestOccluder(command);
+            }
+        }
+        clearOccluders(occluderCount);
+        for (int i = 0; i < size; i++) {
+            Command command = commands.get(i);
+            if (!command.culled) {
+                draw(command, target);
+            }
+            command.release();
+        }
+        size = 0;
+    }
+
+    /** Drop queued commands without drawing them. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            commands.get(i).release();
+        }
+        size = 0;
+    }
+
+    private static void draw(Command command, DrawTarget target) {
+        switch (command.kind) {
+            case FILL -> target.fill(command.x1, command.y1, command.x2, command.y2, command.color);
+            case BLIT -> target.blit(command.texture, command.x1, command.y1, command.u, command.v,
+                command.x2 - command.x1, command.y2 - command.y1, command.textureWidth, command.textureHeight, command.color);
+            case GRADIENT -> target.fillGradient(command.x1, command.y1, command.x2, command.y2, command.color, command.color2);
+            case TEXT -> {
+                if (command.payload instanceof Component component) {
+                    target.text(command.font, component, command.x1, command.y1, command.color, command.shadow);
+                } else {
+                    target.text(command.font, (String) command.payload, command.x1, command.y1, command.color, command.shadow);
+                }
+            }
+            case ITEM -> target.item((ItemStack) command.payload, command.x1, command.y1);
+            case SCISSOR -> target.enableScissor(command.x1, command.y1, command.x2, command.y2);
+            default -> target.disableScissor();
+        }
+    }
+
+    private Command next(int kind) {
+        if (size == commands.size()) {
+            commands.add(new Command());
+        }
+        Command command = commands.get(size++);
+        command.kind = kind;
+        command.culled = false;
+        return command;
+    }
+
+    /** Grow {@code last} by the rectangle if together they form a rectangle, or swallow it if already covered. */
+    private static boolean merge(Command last, int x1, int y1, int x2, int y2) {
+        if (last.y1 == y1 && last.y2 == y2 && (last.x2 == x1 || last.x1 == x2)) {
+            last.x1 = Math.min(last.x1, x1);
+            last.x2 = Math.max(last.x2, x2);
+            return true;
+        }
+        if (last.x1 == x1 && last.x2 == x2 && (last.y2 == y1 || last.y1 == y2)) {
+            last.y1 = Math.min(last.y1, y1);
+            last.y2 = Math.max(last.y2, y2);
+            return true;
+        }
+        // Drawing the same opaque color again changes nothing; a translucent one would blend twice
+        return (last.color >>> 24) == 0xFF && last.contains(x1, y1, x2, y2);
+    }
+
+    private boolean isOccluded(Command command, int occluderCount) {
+        for (int i = 0; i < occluderCount; i++) {
+            if (occluders[i].contains(command.x1, command.y1, command.x2, command.y2)) return true;
+        }
+        return false;
+    }
+
+    private int clearOccluders(int occluderCount) {
+        for (int i = 0; i < occluderCount; i++) {
+            occluders[i] = null;
+        }
+        return 0;
+    }
+
+    private void replaceSmallestOccluder(Command command) {
+        int smallest = 0;
+        for (int i = 1; i < MAX_OCCLUDERS; i++) {
+            if (occluders[i].area() < occluders[smallest].area()) {
+                smallest = i;
+            }
+        }
+        if (command.area() > occluders[smallest].area()) {
+            occluders[smallest] = command;
+        }
+    }
+
+    private static final class Command {
+        int kind;
+        boolean culled;
+        int x1;
+        int y1;
+        int x2;
+        int y2;
+        int color;
+        /** Bottom color of a gradient. */
+        int color2;
+        Identifier texture;
+        float u;
+        float v;
+        int textureWidth;
+        int textureHeight;
+        Font font;
+        /** The String or Component of a text command, the ItemStack of an item command. */
+        Object payload;
+        boolean shadow;
+
+        void set(int x1, int y1, int x2, int y2, int color) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.color = color;
+        }
+
+        boolean contains(int x1, int y1, int x2, int y2) {
+            return this.x1 <= x1 && this.y1 <= y1 && this.x2 >= x2 && this.y2 >= y2;
+        }
+
+        long area() {
+            return (long) (x2 - x1) * (y2 - y1);
+        }
+
+        /** Let go of what the pooled command points at, so it does not keep textures, text or items alive. */
+        void release() {
+            texture = null;
+            font = null;
+            payload = null;
+        }
+    }
+}
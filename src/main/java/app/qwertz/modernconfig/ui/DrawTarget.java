@@ -0,0 +1,33 @@
+package app.qwertz.modernconfig.ui;
+
+import net.minecraft.client.gui.Font;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Everything the config UI draws goes through one of these: the game's implementation forwards to
+ * {@code GuiGraphicsExtractor}, a {@link DrawBuffer} queues the calls for another target, and
+ * {@link RecordingDrawTarget} records them instead. {@link RenderUtil#drawInto} points the widgets at one.
+ */
+public interface DrawTarget {
+    /** Fill the rectangle from (x1, y1) inclusive to (x2, y2) exclusive with an ARGB color. */
+    void fill(int x1, int y1, int x2, int y2, int color);
+
+    /** Fill the rectangle with a vertical gradient from the top to the bottom ARGB color. */
+    void fillGradient(int x1, int y1, int x2, int y2, int topColor, int bottomColor);
+
+    /** Draw part of a texture, tinted with an ARGB color, like {@code GuiGraphicsExtractor.blit}. */
+    void blit(Identifier texture, int x, int y, float u, float v, int width, int height, int textureWidth, int textureHeight, int color);
+
+    void text(Font font, String text, int x, int y, int color, boolean shadow);
+
+    void text(Font font, Component text, int x, int y, int color, boolean shadow);
+
+    void item(ItemStack stack, int x, int y);
+
+    /** Clip what is drawn after this to the rectangle, until the matching {@link #disableScissor()}. */
+    void enableScissor(int x1, int y1, int x2, int y2);
+
+    void disableScissor();
+}
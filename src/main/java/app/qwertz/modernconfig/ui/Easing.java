@@ -0,0 +1,55 @@
+package app.qwertz.modernconfig.ui;
+
+/**
+ * Easing curves used by {@link Animation}, sampled once into a table so applying one is a lookup and a lerp
+ * instead of a {@code Math.pow} per frame.
+ */
+public enum Easing {
+    LINEAR {
+        @Override
+        float compute(float x) {
+            return x;
+        }
+    },
+    OUT_EXPO {
+        @Override
+        float compute(float x) {
+            return RenderUtil.easeOutExpo(x);
+        }
+    },
+    IN_OUT_QUAD {
+        @Override
+        float compute(float x) {
+            return RenderUtil.easeInOutQuad(x);
+        }
+    },
+    OUT_BACK {
+        @Override
+        float compute(float x) {
+            return RenderUtil.easeOutBack(x);
+        }
+    };
+
+    /** Table intervals; fine enough that the lerp is within a fraction of a pixel of the exact curve. */
+    private static final int SAMPLES = 256;
+
+    private final float[] table = new float[SAMPLES + 1];
+
+    Easing() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            table[i] = compute((float) i / SAMPLES);
+        }
+    }
+
+    abstract float compute(float x);
+
+    /** Eased value of x in [0, 1]; values outside are clamped. */
+    public float apply(float x) {
+        if (x <= 0) return table[0];
+        if (x >= 1) return table[SAMPLES];
+        float position = x * SAMPLES;
+        int index = (int) position;
+        float fraction = position - index;
+        return table[index] + (table[index + 1] - table[index]) * fraction;
+    }
+}
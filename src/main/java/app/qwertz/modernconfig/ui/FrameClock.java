@@ -0,0 +1,71 @@
+package app.qwertz.modernconfig.ui;
+
+import app.qwertz.modernconfig.config.ModernConfigSettings;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The one clock behind every {@link Animation}. {@link ConfigScreen} calls {@link #tick()} once at the start of each
+ * frame; it samples {@code System.nanoTime()} once and advances only the animations that are still moving. When
+ * nothing moves, a frame costs a single time sample. Screens that host ModernConfig widgets themselves must tick
+ * it too. Render thread only.
+ */
+public final class FrameClock {
+    /** A gap longer than this means nothing was rendered in between (e.g. a screen was just opened), not a slow frame. */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    private static final List<Animation> AWAKE = new ArrayList<>();
+    private static long lastFrameNanos;
+
+    private FrameClock() {
+    }
+
+    /** Start a frame: advance every awake animation by the time since the last frame and put arrived ones to sleep. */
+    public static void tick() {
+        long now = System.nanoTime();
+        long elapsed = now - lastFrameNanos;
+        lastFrameNanos = now;
+        if (AWAKE.isEmpty()) return;
+        if (elapsed > MAX_FRAME_NANOS || elapsed < 0) {
+            elapsed = 0;
+        }
+        int durationMs = Math.max(1, ModernConfigSettings.getAnimationDurationMs());
+        float step = elapsed / 1_000_000.0f / durationMs;
+        for (int i = AWAKE.size() - 1; i >= 0; i--) {
+            Animation animation = AWAKE.get(i);
+            if (animation.advance(step)) {
+                animation.awake = false;
+                // Order does not matter; move the last one into the gap
+                int last = AWAKE.size() - 1;
+                AWAKE.set(i, AWAKE.get(last));
+                AWAKE.remove(last);
+            }
+        }
+    }
+
+    /** True when no animation is moving. */
+    public static boolean isIdle() {
+        return AWAKE.isEmpty();
+    }
+
+    /** Time the current frame started, in {@code System.nanoTime()} units; 0 before the first tick. */
+    public static long frameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Move every awake animation straight to its target and drop it from the clock. Called when a screen is removed,
+     * so animations of widgets that are no longer shown are not kept alive.
+     */
+    public static void settleAll() {
+        for (int i = 0; i < AWAKE.size(); i++) {
+            AWAKE.get(i).settle();
+        }
+        AWAKE.clear();
+    }
+
+    static void wake(Animation animation) {
+        animation.awake = true;
+        AWAKE.add(animation);
+    }
+}
@@ -1,9 +1,7 @@
 package app.qwertz.modernconfig.ui;
 
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import net.minecraft.client.input.MouseButtonEvent;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.client.gui.components.AbstractWidget;
 import net.minecraft.client.gui.narration.NarrationElementOutput;
@@ -12,8 +10,7 @@ import net.minecraft.network.chat.Component;
 public class ModernButton extends AbstractWidget {
     private final Runnable onClick;
     private final ModernConfigTheme theme;
-    private float animationProgress = 0.0f;
-    private long lastTime = System.currentTimeMillis();
+    private final Animation hover = new Animation(Easing.OUT_EXPO, 1.0f);
 
     public ModernButton(int x, int y, int width, int height, Component text, Runnable onClick) {
         this(x, y, width, height, text, onClick, null);
@@ -27,17 +24,8 @@ public class ModernButton extends AbstractWidget {
 
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (currentTime - lastTime) / (float) ModernConfigSettings.getAnimationDurationMs();
-        lastTime = currentTime;
-
-        if (isHovered()) {
-            animationProgress = Math.min(1.0f, animationProgress + deltaTime);
-        } else {
-            animationProgress = Math.max(0.0f, animationProgress - deltaTime);
-        }
-
-        float easedProgress = RenderUtil.easeOutExpo(animationProgress);
+        hover.setTarget(isHovered());
+        float easedProgress = hover.get();
         
         int baseColor = 0xFF2A2A2A;
         int hoverColor = 0xFF3A3A3A;
@@ -60,10 +48,10 @@ public class ModernButton extends AbstractWidget {
 
         int textColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
         float textY = getY() + (getHeight() - 8) / 2.0f;
-        context.text(
-            Minecraft.getInstance().font,
+        RenderUtil.text(context,
+            RenderUtil.font(),
             getMessage(),
-            getX() + (getWidth() - Minecraft.getInstance().font.width(getMessage())) / 2,
+            getX() + (getWidth() - RenderUtil.textWidth(getMessage())) / 2,
             (int)textY,
             textColor
         );
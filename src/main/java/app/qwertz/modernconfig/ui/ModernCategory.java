@@ -1,20 +1,17 @@
 package app.qwertz.modernconfig.ui;
 
 import app.qwertz.modernconfig.config.ConfigOption;
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import net.minecraft.client.input.MouseButtonEvent;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.client.gui.components.AbstractWidget;
 import net.minecraft.client.gui.narration.NarratedElementType;
 import net.minecraft.client.gui.narration.NarrationElementOutput;
-import net.minecraft.client.renderer.RenderPipelines;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.Identifier;
 
@@ -22,9 +19,8 @@ public class ModernCategory extends AbstractWidget {
     private final Component description;
     private final Identifier icon;
     private final List<Object> elements = new ArrayList<>(); // Can contain ConfigOption<?> or ModernCategory
-    private float hoverProgress = 0.0f;
-    private float arrowAnimProgress = 0.0f;
-    private long lastTime = System.currentTimeMillis();
+    private final Animation hover = new Animation(Easing.OUT_EXPO, 3.0f);
+    private final Animation arrow = new Animation(Easing.OUT_BACK, 2.0f);
     private final Consumer<ModernCategory> onClick;
     private final ModernConfigTheme theme;
 
@@ -75,20 +71,11 @@ public class ModernCategory extends AbstractWidget {
 
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (currentTime - lastTime) / (float) ModernConfigSettings.getAnimationDurationMs();
-        lastTime = currentTime;
-
-        if (isHovered()) {
-            hoverProgress = Math.min(1.0f, hoverProgress + deltaTime * 3);
-            arrowAnimProgress = Math.min(1.0f, arrowAnimProgress + deltaTime * 2);
-        } else {
-            hoverProgress = Math.max(0.0f, hoverProgress - deltaTime * 3);
-            arrowAnimProgress = Math.max(0.0f, arrowAnimProgress - deltaTime * 2);
-        }
-
-        float easedProgress = RenderUtil.easeOutExpo(hoverProgress);
-        float arrowEased = RenderUtil.easeOutBack(arrowAnimProgress);
+        hover.setTarget(isHovered());
+        arrow.setTarget(isHovered());
+        float hoverProgress = hover.getProgress();
+        float easedProgress = hover.get();
+        float arrowEased = arrow.get();
 
         // Enhanced background with gradient-like effect
         int baseColor = 0xFF202020;
@@ -122,8 +109,7 @@ public class ModernCategory extends AbstractWidget {
             RenderUtil.drawRoundedRect(context, getX() + 1, getY() + 1, width - 2, 1, 0, highlightColor);
         }
 
-        Minecraft client = Minecraft.getInstance();
-        Font textRenderer = client.font;
+        Font textRenderer = RenderUtil.font();
 
         // Calculate text start position considering icon
         int textStartX = getX() + 16;
@@ -139,25 +125,25 @@ public class ModernCategory extends AbstractWidget {
       //  if (icon != null) {
         //    titleY = titleY + 8;
       //  }
-        context.text(textRenderer, getMessage(), textStartX, titleY, titleColor);
+        RenderUtil.text(context, textRenderer, getMessage(), textStartX, titleY, titleColor);
 
         // Draw icon if present
         if (icon != null) {
             int iconSize = 48;
             int iconX = getX() + 6;
             int iconY = getY() + 6; // + (height - iconSize);
-            context.blit(RenderPipelines.GUI_TEXTURED, icon, iconX, iconY, 0.0f, 0.0f, iconSize, iconSize, iconSize, iconSize);
+            RenderUtil.blit(context, icon, iconX, iconY, 0.0f, 0.0f, iconSize, iconSize, iconSize, iconSize, 0xFFFFFFFF);
         }
 
         // Description (theme secondary text color) – up to 2 lines, then "..." on second line if needed
         int descriptionColor = theme != null ? theme.getTextColorSecondary() : 0xFFAAAAAA;
-        int descriptionY = titleY + textRenderer.lineHeight + 2;
-        int lineHeight = textRenderer.lineHeight + 2;
+        int descriptionY = titleY + RenderUtil.lineHeight() + 2;
+        int lineHeight = RenderUtil.lineHeight() + 2;
         int maxDescWidth = width - 80;
         String fullDesc = description.getString();
-        String[] lines = wrapDescriptionToTwoLines(textRenderer, fullDesc, maxDescWidth);
+        String[] lines = wrapDescriptionToTwoLines(fullDesc, maxDescWidth);
         for (int i = 0; i < lines.length; i++) {
-            context.text(textRenderer, lines[i], descStartX, descriptionY + i * lineHeight, descriptionColor);
+            RenderUtil.text(context, textRenderer, lines[i], descStartX, descriptionY + i * lineHeight, descriptionColor);
         }
 
         // Count items in category (moved to right side near arrow)
@@ -165,8 +151,8 @@ public class ModernCategory extends AbstractWidget {
         if (itemCount > 0) {
             String countText = itemCount + " item" + (itemCount == 1 ? "" : "s");
             int countColor = theme != null ? theme.getTextColorSecondary() : 0xFF888888;
-            int countWidth = textRenderer.width(countText);
-            context.text(textRenderer, countText, getX() + width - 60 - countWidth, getY() + height/2 - textRenderer.lineHeight/2, countColor);
+            int countWidth = RenderUtil.textWidth(countText);
+            RenderUtil.text(context, textRenderer, countText, getX() + width - 60 - countWidth, getY() + height/2 - RenderUtil.lineHeight()/2, countColor);
         }
 
         // Enhanced arrow design
@@ -197,16 +183,16 @@ public class ModernCategory extends AbstractWidget {
         RenderUtil.drawRoundedRect(context, arrowX - shaftLength, shaftY - 1, shaftLength, 2, 1, arrowColor);
         
         // Draw arrow head with three lines for a more defined look
-        // Main arrow lines
-        context.horizontalLine(arrowX - arrowSize/2, arrowX, arrowY - arrowSize/2, arrowColor);
-        context.horizontalLine(arrowX - arrowSize/2, arrowX, arrowY + arrowSize/2, arrowColor);
+        // Main arrow lines (fills, so they batch with the rest of the container)
+        RenderUtil.fill(context, arrowX - arrowSize/2, arrowY - arrowSize/2, arrowX + 1, arrowY - arrowSize/2 + 1, arrowColor);
+        RenderUtil.fill(context, arrowX - arrowSize/2, arrowY + arrowSize/2, arrowX + 1, arrowY + arrowSize/2 + 1, arrowColor);
         
         // Arrow tip
         for (int i = 0; i < arrowSize/2; i++) {
             int tipAlpha = (int)(arrowAlpha * (1.0f - i * 0.3f / (arrowSize/2)));
             int tipColor = (tipAlpha << 24) | (arrowColor & 0xFFFFFF);
-            context.horizontalLine(arrowX - i, arrowX - i + 1, arrowY - arrowSize/2 + i, tipColor);
-            context.horizontalLine(arrowX - i, arrowX - i + 1, arrowY + arrowSize/2 - i, tipColor);
+            RenderUtil.fill(context, arrowX - i, arrowY - arrowSize/2 + i, arrowX - i + 2, arrowY - arrowSize/2 + i + 1, tipColor);
+            RenderUtil.fill(context, arrowX - i, arrowY + arrowSize/2 - i, arrowX - i + 2, arrowY + arrowSize/2 - i + 1, tipColor);
         }
 
         // Add subtle glow effect around arrow when hovered
@@ -227,11 +213,11 @@ public class ModernCategory extends AbstractWidget {
     }
 
     /** Wrap description into 1 or 2 lines; only add "..." if the second line would still overflow. */
-    private static String[] wrapDescriptionToTwoLines(Font textRenderer, String text, int maxDescWidth) {
+    private static String[] wrapDescriptionToTwoLines(String text, int maxDescWidth) {
         if (text == null || text.isEmpty()) {
             return new String[] { "" };
         }
-        if (textRenderer.width(text) <= maxDescWidth) {
+        if (RenderUtil.textWidth(text) <= maxDescWidth) {
             return new String[] { text };
         }
         // Find break for first line: prefer last space before we exceed maxDescWidth
@@ -241,7 +227,7 @@ public class ModernCategory extends AbstractWidget {
             if (text.charAt(i) == ' ') {
                 lastSpace = i;
             }
-            if (textRenderer.width(text.substring(0, i + 1)) > maxDescWidth) {
+            if (RenderUtil.textWidth(text.substring(0, i + 1)) > maxDescWidth) {
                 breakAt = lastSpace > 0 ? lastSpace : i;
                 break;
             }
@@ -252,12 +238,12 @@ public class ModernCategory extends AbstractWidget {
         if (rest.isEmpty()) {
             return new String[] { line1 };
         }
-        if (textRenderer.width(rest) <= maxDescWidth) {
+        if (RenderUtil.textWidth(rest) <= maxDescWidth) {
             return new String[] { line1, rest };
         }
         // Second line still too long – truncate with "..."
         String line2 = rest;
-        while (line2.length() > 0 && textRenderer.width(line2 + "...") > maxDescWidth) {
+        while (line2.length() > 0 && RenderUtil.textWidth(line2 + "...") > maxDescWidth) {
             line2 = line2.substring(0, line2.length() - 1);
         }
         line2 += "...";
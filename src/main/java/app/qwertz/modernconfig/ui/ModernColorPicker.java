@@ -1,25 +1,25 @@
 package app.qwertz.modernconfig.ui;
 
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import net.minecraft.client.input.CharacterEvent;
 import net.minecraft.client.input.KeyEvent;
 import net.minecraft.client.input.MouseButtonEvent;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.client.gui.components.AbstractWidget;
 import net.minecraft.client.gui.narration.NarrationElementOutput;
 import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
 import net.minecraft.util.Mth;
 
 public class ModernColorPicker extends AbstractWidget {
     private int currentColor;
-    private final Consumer<Integer> onColorChanged;
-    private Consumer<Integer> onColorComplete;
+    private final IntConsumer onColorChanged;
+    private IntConsumer onColorComplete;
     private boolean isExpanded = false;
     private boolean isDragging = false;
     private boolean isDraggingHue = false;
@@ -38,11 +38,8 @@ public class ModernColorPicker extends AbstractWidget {
     private static final int EXPANDED_HEIGHT = PICKER_HEIGHT + 50; // picker + padding + preview
     /** Min width so expanded picker content isn't clipped (picker + hue bar + padding + preview). */
     private static final int EXPANDED_CONTENT_WIDTH = PICKER_WIDTH + HUE_BAR_WIDTH + 50;
-    
-    // Performance optimization - cache rendered gradients
-    private int[][] saturationBrightnessCache;
-    private int[] hueBarCache;
-    private float lastCachedHue = -1;
+    /** Block size for the gradients when textures are not available. */
+    private static final int FALLBACK_BLOCK_SIZE = 5;
     
     // Hex input field
     private ModernString hexInput;
@@ -50,49 +47,63 @@ public class ModernColorPicker extends AbstractWidget {
     private final ModernConfigTheme theme;
     
     // Expand/collapse animation (0 = collapsed, 1 = expanded)
-    private float expandProgress = 0.0f;
-    private long lastExpandTime = System.currentTimeMillis();
+    private final Animation expand = new Animation(Easing.IN_OUT_QUAD, 1.0f);
+    /** Expand progress the parent layout was last updated for. */
+    private float layoutProgress = 0.0f;
 
     // Static list to track all color pickers for global collapse
     private static final List<ModernColorPicker> allColorPickers = new ArrayList<>();
     
     public ModernColorPicker(int x, int y, int width, int height, Component message, 
-                            int currentColor, Consumer<Integer> onColorChanged) {
+                            int currentColor, IntConsumer onColorChanged) {
         this(x, y, width, height, message, currentColor, onColorChanged, null);
     }
     
     public ModernColorPicker(int x, int y, int width, int height, Component message, 
-                            int currentColor, Consumer<Integer> onColorChanged, ModernConfigTheme theme) {
+                            int currentColor, IntConsumer onColorChanged, ModernConfigTheme theme) {
         super(x, y, width, height, message);
         this.currentColor = currentColor;
         this.onColorChanged = onColorChanged;
         this.theme = theme;
         updateHSVFromColor();
         
-        // Initialize caches for performance (much smaller cache, scaled up when rendering)
-        saturationBrightnessCache = new int[PICKER_WIDTH / 4][PICKER_HEIGHT / 4];
-        hueBarCache = new int[HUE_BAR_HEIGHT / 4];
-        
         // Initialize hex input
         hexInput = new ModernString(0, 0, 90, 20,
             Component.literal("Hex"), String.format("#%06X", currentColor),
             value -> onHexInputChanged(value), 7, theme);
         
-        // Pre-calculate hue bar once (never changes)
-        precalculateHueBar();
-        
         // Register this color picker for global collapse functionality
         allColorPickers.add(this);
     }
     
-    public ModernColorPicker setOnColorComplete(Consumer<Integer> onColorComplete) {
+    /** @deprecated boxes every color; pass an {@link IntConsumer}, e.g. {@code (int color) -> ...} */
+    @Deprecated
+    public ModernColorPicker(int x, int y, int width, int height, Component message, 
+                            int currentColor, Consumer<Integer> onColorChanged) {
+        this(x, y, width, height, message, currentColor, (IntConsumer) onColorChanged::accept, null);
+    }
+    
+    /** @deprecated boxes every color; pass an {@link IntConsumer}, e.g. {@code (int color) -> ...} */
+    @Deprecated
+    public ModernColorPicker(int x, int y, int width, int height, Component message, 
+                            int currentColor, Consumer<Integer> onColorChanged, ModernConfigTheme theme) {
+        this(x, y, width, height, message, currentColor, (IntConsumer) onColorChanged::accept, theme);
+    }
+    
+    public ModernColorPicker setOnColorComplete(IntConsumer onColorComplete) {
         this.onColorComplete = onColorComplete;
         return this;
     }
     
+    /** @deprecated boxes the color; pass an {@link IntConsumer} */
+    @Deprecated
+    public ModernColorPicker setOnColorComplete(Consumer<Integer> onColorComplete) {
+        return setOnColorComplete(onColorComplete != null ? (IntConsumer) onColorComplete::accept : null);
+    }
+    
     @Override
     public int getHeight() {
-        float eased = RenderUtil.easeInOutQuad(expandProgress);
+        float eased = expand.get();
         return COLLAPSED_HEIGHT + (int) ((EXPANDED_HEIGHT - COLLAPSED_HEIGHT) * eased);
     }
     
@@ -157,34 +168,19 @@ public class ModernColorPicker extends AbstractWidget {
         isTypingHex = false;
     }
     
-    private void precalculateHueBar() {
-        for (int y = 0; y < hueBarCache.length; y++) {
-            float h = (float) y / (hueBarCache.length - 1);
-            hueBarCache[y] = Color.HSBtoRGB(h, 1.0f, 1.0f);
-        }
-    }
-    
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        long currentTime = System.currentTimeMillis();
-        int durationMs = Math.max(1, ModernConfigSettings.getAnimationDurationMs());
-        float deltaTime = (currentTime - lastExpandTime) / (float) durationMs;
-        lastExpandTime = currentTime;
-
-        float oldExpandProgress = expandProgress;
-        if (isExpanded) {
-            expandProgress = Math.min(1.0f, expandProgress + deltaTime);
-        } else {
-            expandProgress = Math.max(0.0f, expandProgress - deltaTime);
-        }
-        if (Math.abs(oldExpandProgress - expandProgress) > 0.01f) {
+        expand.setTarget(isExpanded);
+        float expandProgress = expand.getProgress();
+        if (expandProgress != layoutProgress) {
+            layoutProgress = expandProgress;
             updateParentLayout();
         }
 
         // Draw label
         String labelText = getMessage().getString();
         int textColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
-        context.text(Minecraft.getInstance().font, labelText + ":", getX(), getY() - 2, textColor);
+        RenderUtil.text(context, RenderUtil.font(), labelText + ":", getX(), getY() - 2, textColor);
         
         // Draw color swatch button
         int swatchX = getX();
@@ -204,7 +200,7 @@ public class ModernColorPicker extends AbstractWidget {
         int expandX = swatchX + SWATCH_SIZE + 5;
         int expandY = swatchY + 2;
         String expandText = isExpanded ? "▲" : "▼";
-        context.text(Minecraft.getInstance().font, expandText, expandX, expandY, textColor);
+        RenderUtil.text(context, RenderUtil.font(), expandText, expandX, expandY, textColor);
         
         // Position and render hex input (always visible to the right)
         int hexInputX = expandX + 20;
@@ -220,9 +216,9 @@ public class ModernColorPicker extends AbstractWidget {
             int clipY = getY();
             int clipW = Math.max(getWidth(), EXPANDED_CONTENT_WIDTH);
             int clipH = getHeight();
-            context.enableScissor(clipX, clipY, clipX + clipW, clipY + clipH);
+            RenderUtil.enableScissor(context, clipX, clipY, clipX + clipW, clipY + clipH);
             drawColorPicker(context, mouseX, mouseY, delta);
-            context.disableScissor();
+            RenderUtil.disableScissor(context);
         }
     }
     
@@ -249,37 +245,20 @@ public class ModernColorPicker extends AbstractWidget {
     }
     
     private void drawSaturationBrightnessPicker(GuiGraphicsExtractor context, int startX, int startY) {
-        // Cache the gradient if hue changed (much smaller cache for performance)
-        if (Math.abs(lastCachedHue - hue) > 0.001f) {
-            int cacheWidth = saturationBrightnessCache.length;
-            int cacheHeight = saturationBrightnessCache[0].length;
-            
-            for (int x = 0; x < cacheWidth; x++) {
-                for (int y = 0; y < cacheHeight; y++) {
-                    float s = (float) x / (cacheWidth - 1);
-                    float b = 1.0f - (float) y / (cacheHeight - 1);
-                    saturationBrightnessCache[x][y] = Color.HSBtoRGB(hue, s, b);
+        // One blit of a texture that is only regenerated when the hue changes
+        Identifier field = ColorPickerTextures.saturationBrightness(hue, PICKER_WIDTH, PICKER_HEIGHT);
+        if (field != null) {
+            RenderUtil.blit(context, field, startX, startY, 0, 0, PICKER_WIDTH, PICKER_HEIGHT, PICKER_WIDTH, PICKER_HEIGHT, 0xFFFFFFFF);
+        } else {
+            // No texture: coarse blocks
+            for (int x = 0; x < PICKER_WIDTH; x += FALLBACK_BLOCK_SIZE) {
+                for (int y = 0; y < PICKER_HEIGHT; y += FALLBACK_BLOCK_SIZE) {
+                    float s = (float) x / (PICKER_WIDTH - FALLBACK_BLOCK_SIZE);
+                    float b = 1.0f - (float) y / (PICKER_HEIGHT - FALLBACK_BLOCK_SIZE);
+                    RenderUtil.fill(context, startX + x, startY + y, startX + x + FALLBACK_BLOCK_SIZE, startY + y + FALLBACK_BLOCK_SIZE,
+                        0xFF000000 | Color.HSBtoRGB(hue, s, b));
                 }
             }
-            lastCachedHue = hue;
-        }
-        
-        // Draw the cached gradient in 4x4 blocks (much more efficient)
-        int blockSize = 4;
-        int cacheWidth = saturationBrightnessCache.length;
-        int cacheHeight = saturationBrightnessCache[0].length;
-        
-        for (int x = 0; x < cacheWidth; x++) {
-            for (int y = 0; y < cacheHeight; y++) {
-                int color = saturationBrightnessCache[x][y];
-                int alpha = 0xFF000000;
-                
-                int pixelX = startX + x * blockSize;
-                int pixelY = startY + y * blockSize;
-                
-                // Draw 4x4 blocks instead of individual pixels
-                context.fill(pixelX, pixelY, pixelX + blockSize, pixelY + blockSize, alpha | color);
-            }
         }
         
         // Draw selection indicator (theme accent circle)
@@ -291,21 +270,21 @@ public class ModernColorPicker extends AbstractWidget {
     }
     
     private void drawHueBar(GuiGraphicsExtractor context, int startX, int startY) {
-        // Use pre-calculated hue gradient (much more efficient with larger blocks)
-        int blockSize = HUE_BAR_HEIGHT / hueBarCache.length;
-        for (int y = 0; y < hueBarCache.length; y++) {
-            int color = hueBarCache[y];
-            int alpha = 0xFF000000;
-            
-            int pixelY = startY + y * blockSize;
-            context.fill(startX, pixelY, startX + HUE_BAR_WIDTH, pixelY + blockSize, alpha | color);
+        Identifier bar = ColorPickerTextures.hueBar(HUE_BAR_WIDTH, HUE_BAR_HEIGHT);
+        if (bar != null) {
+            RenderUtil.blit(context, bar, startX, startY, 0, 0, HUE_BAR_WIDTH, HUE_BAR_HEIGHT, HUE_BAR_WIDTH, HUE_BAR_HEIGHT, 0xFFFFFFFF);
+        } else {
+            for (int y = 0; y < HUE_BAR_HEIGHT; y += FALLBACK_BLOCK_SIZE) {
+                float h = (float) y / (HUE_BAR_HEIGHT - FALLBACK_BLOCK_SIZE);
+                RenderUtil.fill(context, startX, startY + y, startX + HUE_BAR_WIDTH, startY + y + FALLBACK_BLOCK_SIZE, 0xFF000000 | Color.HSBtoRGB(h, 1.0f, 1.0f));
+            }
         }
         
         // Draw selection indicator (theme accent)
         int indicatorY = (int) (startY + hue * HUE_BAR_HEIGHT);
         int accent = theme != null ? theme.getAccentColor() : 0xFFFFFFFF;
-        context.fill(startX - 2, indicatorY - 1, startX + HUE_BAR_WIDTH + 2, indicatorY + 1, 0xFF000000);
-        context.fill(startX - 1, indicatorY, startX + HUE_BAR_WIDTH + 1, indicatorY + 1, 0xFF000000 | (accent & 0xFFFFFF));
+        RenderUtil.fill(context, startX - 2, indicatorY - 1, startX + HUE_BAR_WIDTH + 2, indicatorY + 1, 0xFF000000);
+        RenderUtil.fill(context, startX - 1, indicatorY, startX + HUE_BAR_WIDTH + 1, indicatorY + 1, 0xFF000000 | (accent & 0xFFFFFF));
     }
     
     @Override
@@ -29,6 +29,8 @@ public class ModernContainer {
     private static final int SCROLLBAR_WIDTH = 6;
     private static final int SCROLLBAR_PADDING = 2;
     private final ModernConfigTheme theme;
+    /** Queues what the container and its widgets draw each frame; reused so a frame allocates no commands. */
+    private final DrawBuffer buffer = new DrawBuffer();
 
     public ModernContainer(int x, int y, int width, int height) {
         this(x, y, width, height, null);
@@ -208,6 +210,23 @@ public class ModernContainer {
     }
 
     public void render(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
+        DrawTarget target = RenderUtil.target(context);
+        if (target instanceof DrawBuffer) {
+            // Already batched by whatever this container is drawn inside
+            renderContents(context, mouseX, mouseY, delta);
+            return;
+        }
+        // Everything the container and its widgets draw is queued in order and submitted in one go
+        DrawTarget previous = RenderUtil.redirect(buffer);
+        try {
+            renderContents(context, mouseX, mouseY, delta);
+        } finally {
+            RenderUtil.redirect(previous);
+            buffer.flush(target);
+        }
+    }
+
+    private void renderContents(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
         // Draw container background
         int bg = theme != null ? theme.getContainerBackground() : 0x202020;
         int backgroundColor = (int)(alpha * 255) << 24 | (bg & 0xFFFFFF);
@@ -215,23 +234,24 @@ public class ModernContainer {
         
         // Draw container outline (top/bottom one pixel outside so content doesn't overlap)
         int outlineRgb = theme != null ? (theme.getContainerOutline() & 0xFFFFFF) : 0xFFFFFF;
-        int outlineColor = (int)(alpha * 64) << 24 | outlineRgb;
-        RenderUtil.drawRoundedRect(context, x, y - 1, width, 1, 0, outlineColor);
-        RenderUtil.drawRoundedRect(context, x, y + height, width, 1, 0, outlineColor);
-        RenderUtil.drawRoundedRect(context, x, y, 1, height, 0, outlineColor);
-        RenderUtil.drawRoundedRect(context, x + width - 1, y, 1, height, 0, outlineColor);
+        // 112 matches the look of the former double-blended 64-alpha outline, now that each line is a single fill
+        int outlineColor = (int)(alpha * 112) << 24 | outlineRgb;
+        RenderUtil.fill(context, x, y - 1, x + width, y, outlineColor);
+        RenderUtil.fill(context, x, y + height, x + width, y + height + 1, outlineColor);
+        RenderUtil.fill(context, x, y, x + 1, y + height, outlineColor);
+        RenderUtil.fill(context, x + width - 1, y, x + width, y + height, outlineColor);
 
         // Enable scissor to clip content
-        context.enableScissor(x, y, x + width, y + height);
+        RenderUtil.enableScissor(context, x, y, x + width, y + height);
 
         // Draw title if present
         if (title != null) {
             int titleRgb = theme != null ? (theme.getTextColor() & 0xFFFFFF) : 0xFFFFFF;
             int titleColor = (int)(alpha * 255) << 24 | titleRgb;
-            context.text(
-                net.minecraft.client.Minecraft.getInstance().font,
+            RenderUtil.text(context,
+                RenderUtil.font(),
                 title,
-                x + width / 2 - net.minecraft.client.Minecraft.getInstance().font.width(title) / 2,
+                x + width / 2 - RenderUtil.textWidth(title) / 2,
                 y + padding - scrollOffset,
                 titleColor
             );
@@ -241,12 +261,12 @@ public class ModernContainer {
         for (GuiEventListener child : children) {
             if (child instanceof AbstractWidget widget) {
                 if (widget.getY() + widget.getHeight() >= y && widget.getY() <= y + height) {
-                    widget.extractRenderState(context, mouseX, mouseY, delta);
+                    renderChild(widget, context, mouseX, mouseY, delta);
                 }
             }
         }
 
-        context.disableScissor();
+        RenderUtil.disableScissor(context);
 
         // Draw scrollbar if needed
         if (contentHeight > height) {
@@ -278,6 +298,14 @@ public class ModernContainer {
         }
     }
 
+    /**
+     * Draw one child through the widget's entry point, which also tracks hovering and tooltips for the game.
+     * Tests override this to draw widgets without a running client.
+     */
+    void renderChild(AbstractWidget widget, GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
+        widget.extractRenderState(context, mouseX, mouseY, delta);
+    }
+
     public boolean mouseClicked(MouseButtonEvent event, boolean doubled) {
         double mouseX = event.x();
         double mouseY = event.y();
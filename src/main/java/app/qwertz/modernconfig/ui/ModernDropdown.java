@@ -1,6 +1,5 @@
 package app.qwertz.modernconfig.ui;
 
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import java.util.List;
 import java.util.function.Consumer;
@@ -19,9 +18,10 @@ public class ModernDropdown extends AbstractWidget {
     private final Consumer<Integer> onSelectionChange;
     private final ModernConfigTheme theme;
     private boolean isExpanded = false;
-    private float animationProgress = 0.0f;
-    private float expandProgress = 0.0f;
-    private long lastTime = System.currentTimeMillis();
+    private final Animation hover = new Animation(Easing.OUT_EXPO, 1.0f);
+    private final Animation expand = new Animation(Easing.IN_OUT_QUAD, 2.0f);
+    /** Expand progress the parent layout was last updated for. */
+    private float layoutProgress = 0.0f;
     private final int optionHeight = 20;
     private final int maxVisibleOptions = 10;
 
@@ -39,32 +39,18 @@ public class ModernDropdown extends AbstractWidget {
 
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (currentTime - lastTime) / (float) ModernConfigSettings.getAnimationDurationMs();
-        lastTime = currentTime;
-
-        // Hover animation
-        if (isHovered()) {
-            animationProgress = Math.min(1.0f, animationProgress + deltaTime);
-        } else {
-            animationProgress = Math.max(0.0f, animationProgress - deltaTime);
-        }
-
-        // Expand animation
-        float oldExpandProgress = expandProgress;
-        if (isExpanded) {
-            expandProgress = Math.min(1.0f, expandProgress + deltaTime * 2);
-        } else {
-            expandProgress = Math.max(0.0f, expandProgress - deltaTime * 2);
-        }
+        hover.setTarget(isHovered());
+        expand.setTarget(isExpanded);
+        float expandProgress = expand.getProgress();
         
         // Update parent layout if expand progress changed (height changed)
-        if (Math.abs(oldExpandProgress - expandProgress) > 0.01f) {
+        if (expandProgress != layoutProgress) {
+            layoutProgress = expandProgress;
             updateParentLayout();
         }
 
-        float easedHoverProgress = RenderUtil.easeOutExpo(animationProgress);
-        float easedExpandProgress = RenderUtil.easeInOutQuad(expandProgress);
+        float easedHoverProgress = hover.get();
+        float easedExpandProgress = expand.get();
         
         // Draw main dropdown background
         int baseColor = 0xFF2A2A2A;
@@ -76,8 +62,8 @@ public class ModernDropdown extends AbstractWidget {
         // Draw label (dropdown name)
         int textColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
         float textY = getY() + (mainHeight - 8) / 2.0f;
-        context.text(
-            Minecraft.getInstance().font,
+        RenderUtil.text(context,
+            RenderUtil.font(),
             getMessage(),
             getX() + 8,
             (int)textY,
@@ -85,13 +71,13 @@ public class ModernDropdown extends AbstractWidget {
         );
         
         // Calculate text position for selected option
-        int labelWidth = Minecraft.getInstance().font.width(getMessage()) + 16;
+        int labelWidth = RenderUtil.textWidth(getMessage()) + 16;
         int selectedTextX = getX() + labelWidth;
         
         // Draw selected option text
         String selectedText = selectedIndex >= 0 && selectedIndex < options.size() ? options.get(selectedIndex) : "";
-        context.text(
-            Minecraft.getInstance().font,
+        RenderUtil.text(context,
+            RenderUtil.font(),
             Component.literal(selectedText),
             selectedTextX,
             (int)textY,
@@ -139,8 +125,8 @@ public class ModernDropdown extends AbstractWidget {
             if (optionHeight > 4) { // Only draw text if there's enough space
                 int selectedColor = theme != null ? (0xFF000000 | (theme.getAccentSecondary() & 0xFFFFFF)) : 0xFF88CC88;
                 int optionTextColor = (i == selectedIndex) ? selectedColor : (theme != null ? theme.getTextColor() : 0xFFFFFFFF);
-                context.text(
-                    Minecraft.getInstance().font,
+                RenderUtil.text(context,
+                    RenderUtil.font(),
                     Component.literal(options.get(i)),
                     getX() + 8,
                     optionY + (optionHeight - 8) / 2,
@@ -157,14 +143,14 @@ public class ModernDropdown extends AbstractWidget {
             // Up arrow (rotated)
             float rotation = progress * 180.0f;
             // Draw simple up arrow
-            context.fill(x - 3, y + 1, x + 4, y + 2, color);
-            context.fill(x - 2, y, x + 3, y + 1, color);
-            context.fill(x - 1, y - 1, x + 2, y, color);
+            RenderUtil.fill(context, x - 3, y + 1, x + 4, y + 2, color);
+            RenderUtil.fill(context, x - 2, y, x + 3, y + 1, color);
+            RenderUtil.fill(context, x - 1, y - 1, x + 2, y, color);
         } else {
             // Down arrow
-            context.fill(x - 3, y - 1, x + 4, y, color);
-            context.fill(x - 2, y, x + 3, y + 1, color);
-            context.fill(x - 1, y + 1, x + 2, y + 2, color);
+            RenderUtil.fill(context, x - 3, y - 1, x + 4, y, color);
+            RenderUtil.fill(context, x - 2, y, x + 3, y + 1, color);
+            RenderUtil.fill(context, x - 1, y + 1, x + 2, y + 2, color);
         }
     }
 
@@ -230,6 +216,7 @@ public class ModernDropdown extends AbstractWidget {
     @Override
     public int getHeight() {
         // Use expandProgress (not isExpanded) so layout animates on collapse too; items below move up in sync
+        float expandProgress = expand.getProgress();
         if (expandProgress > 0.001f) {
             int visibleOptions = Math.min(options.size(), maxVisibleOptions);
             return getMainHeight() + 2 + (int)(visibleOptions * optionHeight * expandProgress);
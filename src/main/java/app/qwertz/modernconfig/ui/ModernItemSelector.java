@@ -1,6 +1,5 @@
 package app.qwertz.modernconfig.ui;
 
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -28,9 +27,10 @@ public class ModernItemSelector extends AbstractWidget {
     private final Consumer<Item> onSelectionChange;
     private final ModernConfigTheme theme;
     private boolean isExpanded = false;
-    private float animationProgress = 0.0f;
-    private float expandProgress = 0.0f;
-    private long lastTime = System.currentTimeMillis();
+    private final Animation hover = new Animation(Easing.OUT_EXPO, 1.0f);
+    private final Animation expand = new Animation(Easing.IN_OUT_QUAD, 2.0f);
+    /** Expand progress the parent layout was last updated for. */
+    private float layoutProgress = 0.0f;
     private final int optionHeight = 25;
     private final int maxVisibleOptions = 6;
     private String searchText = "";
@@ -79,32 +79,18 @@ public class ModernItemSelector extends AbstractWidget {
 
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (currentTime - lastTime) / (float) ModernConfigSettings.getAnimationDurationMs();
-        lastTime = currentTime;
-
-        // Hover animation
-        if (isHovered()) {
-            animationProgress = Math.min(1.0f, animationProgress + deltaTime);
-        } else {
-            animationProgress = Math.max(0.0f, animationProgress - deltaTime);
-        }
-
-        // Expand animation
-        float oldExpandProgress = expandProgress;
-        if (isExpanded) {
-            expandProgress = Math.min(1.0f, expandProgress + deltaTime * 2);
-        } else {
-            expandProgress = Math.max(0.0f, expandProgress - deltaTime * 2);
-        }
+        hover.setTarget(isHovered());
+        expand.setTarget(isExpanded);
+        float expandProgress = expand.getProgress();
         
         // Update parent layout if expand progress changed
-        if (Math.abs(oldExpandProgress - expandProgress) > 0.01f) {
+        if (expandProgress != layoutProgress) {
+            layoutProgress = expandProgress;
             updateParentLayout();
         }
 
-        float easedHoverProgress = RenderUtil.easeOutExpo(animationProgress);
-        float easedExpandProgress = RenderUtil.easeInOutQuad(expandProgress);
+        float easedHoverProgress = hover.get();
+        float easedExpandProgress = expand.get();
         
         // Draw main selector background
         int baseColor = 0xFF2A2A2A;
@@ -116,8 +102,8 @@ public class ModernItemSelector extends AbstractWidget {
         // Draw label
         int textColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
         float textY = getY() + (mainHeight - 8) / 2.0f;
-        context.text(
-            Minecraft.getInstance().font,
+        RenderUtil.text(context,
+            RenderUtil.font(),
             getMessage(),
             getX() + 8,
             (int)textY,
@@ -133,7 +119,7 @@ public class ModernItemSelector extends AbstractWidget {
             
             // Draw item
             ItemStack stack = new ItemStack(selectedItem);
-            context.item(stack, itemX, itemY);
+            RenderUtil.item(context, stack, itemX, itemY);
         }
 
         // Draw expand arrow
@@ -170,8 +156,8 @@ public class ModernItemSelector extends AbstractWidget {
         String displayText = searchText.isEmpty() ? "Search items..." : searchText;
         int searchPlaceholderColor = theme != null ? theme.getTextColorSecondary() : 0xFF666666;
         int searchTextColor = searchText.isEmpty() ? searchPlaceholderColor : (theme != null ? theme.getTextColor() : 0xFFFFFFFF);
-        context.text(
-            Minecraft.getInstance().font,
+        RenderUtil.text(context,
+            RenderUtil.font(),
             displayText,
             getX() + 10,
             searchY + 6,
@@ -180,8 +166,8 @@ public class ModernItemSelector extends AbstractWidget {
 
         // Draw cursor in search
         if (isSearchFocused && searchText.isEmpty()) {
-            int cursorX = getX() + 10 + Minecraft.getInstance().font.width("Search items...");
-            context.fill(cursorX, searchY + 6, cursorX + 1, searchY + 16, searchOutline);
+            int cursorX = getX() + 10 + RenderUtil.textWidth("Search items...");
+            RenderUtil.fill(context, cursorX, searchY + 6, cursorX + 1, searchY + 16, searchOutline);
         }
         
         // Draw items
@@ -210,7 +196,7 @@ public class ModernItemSelector extends AbstractWidget {
             int iconX = getX() + 8;
             int iconY = itemY + (itemHeight - 16) / 2;
             ItemStack stack = new ItemStack(item);
-            context.item(stack, iconX, iconY);
+            RenderUtil.item(context, stack, iconX, iconY);
             
             // Draw item name
             String itemName = item.getName(new ItemStack(item)).getString();
@@ -218,8 +204,8 @@ public class ModernItemSelector extends AbstractWidget {
             int nameY = itemY + (itemHeight - 8) / 2;
             int selectedNameColor = theme != null ? (0xFF000000 | (theme.getAccentSecondary() & 0xFFFFFF)) : 0xFF88CC88;
             int nameColor = isSelected ? selectedNameColor : (theme != null ? theme.getTextColor() : 0xFFFFFFFF);
-            context.text(
-                Minecraft.getInstance().font,
+            RenderUtil.text(context,
+                RenderUtil.font(),
                 itemName,
                 nameX,
                 nameY,
@@ -233,14 +219,14 @@ public class ModernItemSelector extends AbstractWidget {
         
         if (isExpanded) {
             // Up arrow
-            context.fill(x - 3, y + 1, x + 4, y + 2, color);
-            context.fill(x - 2, y, x + 3, y + 1, color);
-            context.fill(x - 1, y - 1, x + 2, y, color);
+            RenderUtil.fill(context, x - 3, y + 1, x + 4, y + 2, color);
+            RenderUtil.fill(context, x - 2, y, x + 3, y + 1, color);
+            RenderUtil.fill(context, x - 1, y - 1, x + 2, y, color);
         } else {
             // Down arrow
-            context.fill(x - 3, y - 1, x + 4, y, color);
-            context.fill(x - 2, y, x + 3, y + 1, color);
-            context.fill(x - 1, y + 1, x + 2, y + 2, color);
+            RenderUtil.fill(context, x - 3, y - 1, x + 4, y, color);
+            RenderUtil.fill(context, x - 2, y, x + 3, y + 1, color);
+            RenderUtil.fill(context, x - 1, y + 1, x + 2, y + 2, color);
         }
     }
 
@@ -347,6 +333,7 @@ public class ModernItemSelector extends AbstractWidget {
     @Override
     public int getHeight() {
         // Use expandProgress (not isExpanded) so layout animates on collapse too; items below move up in sync
+        float expandProgress = expand.getProgress();
         if (expandProgress > 0.001f) {
             return getMainHeight() + 2 + (int)((maxVisibleOptions * optionHeight + 35) * expandProgress);
         }
@@ -1,7 +1,6 @@
 package app.qwertz.modernconfig.ui;
 
 import app.qwertz.modernconfig.config.ListConfigOption;
-import app.qwertz.modernconfig.config.ConfigManager;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,25 +43,19 @@ public class ModernList {
 
     private void rebuildInputs() {
         inputs.clear();
-        List<String> items = option.getItems();
-        
-        // Add inputs for existing items
-        for (String item : items) {
-            ModernString input = new ModernString(0, 0, 200, 20, 
-                Component.literal(option.getChildName()), item, 
-                newVal -> {
-                    // Value changes will be handled in updateOptionFromInputs
-                }, 16, theme);
-            inputs.add(input);
+        for (String item : option.getItems()) {
+            inputs.add(createInput(item));
         }
-        
         // Always add one empty input at the end for adding new items
-        ModernString addInput = new ModernString(0, 0, 200, 20, 
-            Component.literal(option.getChildName()), "", 
+        inputs.add(createInput(""));
+    }
+
+    private ModernString createInput(String value) {
+        return new ModernString(0, 0, 200, 20,
+            Component.literal(option.getChildName()), value,
             newVal -> {
-                // Value changes will be handled in updateOptionFromInputs
+                // Value changes will be handled in updateOptionFromInput
             }, 16, theme);
-        inputs.add(addInput);
     }
 
     /** When false, no label is drawn and getHeight() returns content-only height (for expandable widget). */
@@ -91,11 +84,10 @@ public class ModernList {
     }
 
     public void render(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        Minecraft mc = Minecraft.getInstance();
         int contentStart = drawHeader ? headerHeight : 0;
         if (drawHeader) {
             int headerColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
-            context.text(mc.font, Component.literal(option.getDescription()), x, y + 2, headerColor, false);
+            RenderUtil.text(context, RenderUtil.font(), Component.literal(option.getDescription()), x, y + 2, headerColor, false);
         }
         for (int i = 0; i < inputs.size(); i++) {
             int inputY = y + contentStart + (padding / 2) + i * (itemHeight + padding);
@@ -129,23 +121,23 @@ public class ModernList {
     private void drawDeleteIcon(GuiGraphicsExtractor context, int x, int y, int color) {
         // Draw dustbin/trash icon
         // Lid
-        context.fill(x + 5, y + 3, x + 15, y + 5, color);
+        RenderUtil.fill(context, x + 5, y + 3, x + 15, y + 5, color);
         // Handle
-        context.fill(x + 8, y + 1, x + 12, y + 3, color);
+        RenderUtil.fill(context, x + 8, y + 1, x + 12, y + 3, color);
         // Body
-        context.fill(x + 6, y + 5, x + 14, y + 17, color);
+        RenderUtil.fill(context, x + 6, y + 5, x + 14, y + 17, color);
         // Lines inside
-        context.fill(x + 8, y + 7, x + 9, y + 15, color);
-        context.fill(x + 10, y + 7, x + 11, y + 15, color);
-        context.fill(x + 12, y + 7, x + 13, y + 15, color);
+        RenderUtil.fill(context, x + 8, y + 7, x + 9, y + 15, color);
+        RenderUtil.fill(context, x + 10, y + 7, x + 11, y + 15, color);
+        RenderUtil.fill(context, x + 12, y + 7, x + 13, y + 15, color);
     }
 
     private void drawPlusIcon(GuiGraphicsExtractor context, int x, int y, int color) {
         // Draw plus icon
         // Horizontal line
-        context.fill(x + 5, y + 9, x + 15, y + 11, color);
+        RenderUtil.fill(context, x + 5, y + 9, x + 15, y + 11, color);
         // Vertical line
-        context.fill(x + 9, y + 5, x + 11, y + 15, color);
+        RenderUtil.fill(context, x + 9, y + 5, x + 11, y + 15, color);
     }
 
     public boolean mouseClicked(MouseButtonEvent event, boolean doubled) {
@@ -199,7 +191,7 @@ public class ModernList {
         if (focusedIndex >= 0 && focusedIndex < inputs.size()) {
             ModernString input = inputs.get(focusedIndex);
             boolean handled = input.keyPressed(event);
-            updateOptionFromInputs();
+            updateOptionFromInput(focusedIndex);
             return handled;
         }
         return false;
@@ -209,24 +201,26 @@ public class ModernList {
         if (focusedIndex >= 0 && focusedIndex < inputs.size()) {
             ModernString input = inputs.get(focusedIndex);
             boolean handled = input.charTyped(event);
-            updateOptionFromInputs();
+            updateOptionFromInput(focusedIndex);
             return handled;
         }
         return false;
     }
 
+    // Edits only add or remove the affected input instead of rebuilding every row
+
     private void addItem() {
         ModernString lastInput = inputs.get(inputs.size() - 1);
         String newValue = lastInput.getValue().trim();
         
         if (!newValue.isEmpty()) {
-            List<String> items = option.getItems();
-            items.add(newValue);
-            option.setItems(items);
+            int sizeBefore = option.size();
+            // Lists take the item even if it is already there; a set drops it, and the text stays in the field
+            option.setValue(option.getValue().with(newValue));
+            if (option.size() == sizeBefore) return;
+            inputs.add(inputs.size() - 1, createInput(option.getItems().get(sizeBefore)));
             lastInput.setValue(""); // Clear the input field
-            rebuildInputs();
             setPosition(x, y, width); // Refresh positions after adding
-            ConfigManager.save(); // Save changes immediately
             ModernContainer currentContainer = ConfigScreen.getTLContainer();
             currentContainer.updateLayout(); // Update parent layout
 
@@ -234,28 +228,24 @@ public class ModernList {
     }
 
     private void removeItem(int index) {
-        List<String> items = option.getItems();
-        if (index >= 0 && index < items.size()) {
-            items.remove(index);
-            option.setItems(items);
-            rebuildInputs();
+        if (index >= 0 && index < option.size()) {
+            option.removeItem(index);
+            inputs.remove(index);
             setPosition(x, y, width); // Refresh positions after removing
-            ConfigManager.save(); // Save changes immediately
             ModernContainer currentContainer = ConfigScreen.getTLContainer();
             currentContainer.updateLayout(); // Update parent layout
 
         }
     }
 
-    private void updateOptionFromInputs() {
-        // Update existing items
-        for (int i = 0; i < inputs.size() - 1 && i < option.size(); i++) {
-            String value = inputs.get(i).getValue().trim();
+    /** Only the focused input can have changed, so only its item is written back. */
+    private void updateOptionFromInput(int index) {
+        if (index < inputs.size() - 1 && index < option.size()) {
+            String value = inputs.get(index).getValue().trim();
             if (!value.isEmpty()) {
-                option.updateItem(i, value);
+                option.updateItem(index, value);
             }
         }
-        ConfigManager.save(); // Save changes after updating
     }
 
     public ListConfigOption getOption() {
@@ -1,6 +1,5 @@
 package app.qwertz.modernconfig.ui;
 
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.config.ListConfigOption;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import net.minecraft.client.input.CharacterEvent;
@@ -20,8 +19,9 @@ public class ModernListWidget extends AbstractWidget {
     private final ModernList modernList;
     private final boolean expandable;
     private boolean isExpanded = false;
-    private float expandProgress = 0.0f;
-    private long lastTime = System.currentTimeMillis();
+    private final Animation expand = new Animation(Easing.LINEAR, 2.0f);
+    /** Expand progress the parent layout was last updated for. */
+    private float layoutProgress = 0.0f;
 
     public ModernListWidget(int x, int y, int width, ListConfigOption option, Component description) {
         this(x, y, width, option, description, null);
@@ -73,6 +73,7 @@ public class ModernListWidget extends AbstractWidget {
         if (!expandable) {
             return modernList.getHeight();
         }
+        float expandProgress = expand.getProgress();
         if (expandProgress > 0.001f) {
             int contentHeight = modernList.getHeight();
             return LIST_HEADER_HEIGHT + LIST_CONTENT_GAP + (int) (contentHeight * expandProgress);
@@ -97,20 +98,20 @@ public class ModernListWidget extends AbstractWidget {
     private void drawListIcon(GuiGraphicsExtractor context, int x, int y, int color) {
         int w = 10;
         int h = 2;
-        context.fill(x, y, x + w, y + h, color);
-        context.fill(x, y + 4, x + w, y + 4 + h, color);
-        context.fill(x, y + 8, x + w, y + 8 + h, color);
+        RenderUtil.fill(context, x, y, x + w, y + h, color);
+        RenderUtil.fill(context, x, y + 4, x + w, y + 4 + h, color);
+        RenderUtil.fill(context, x, y + 8, x + w, y + 8 + h, color);
     }
 
     private void drawListArrow(GuiGraphicsExtractor context, int x, int y, boolean expanded, int color) {
         if (expanded) {
-            context.fill(x - 3, y + 1, x + 4, y + 2, color);
-            context.fill(x - 2, y, x + 3, y + 1, color);
-            context.fill(x - 1, y - 1, x + 2, y, color);
+            RenderUtil.fill(context, x - 3, y + 1, x + 4, y + 2, color);
+            RenderUtil.fill(context, x - 2, y, x + 3, y + 1, color);
+            RenderUtil.fill(context, x - 1, y - 1, x + 2, y, color);
         } else {
-            context.fill(x - 3, y - 1, x + 4, y, color);
-            context.fill(x - 2, y, x + 3, y + 1, color);
-            context.fill(x - 1, y + 1, x + 2, y + 2, color);
+            RenderUtil.fill(context, x - 3, y - 1, x + 4, y, color);
+            RenderUtil.fill(context, x - 2, y, x + 3, y + 1, color);
+            RenderUtil.fill(context, x - 1, y + 1, x + 2, y + 2, color);
         }
     }
 
@@ -123,18 +124,10 @@ public class ModernListWidget extends AbstractWidget {
             return;
         }
 
-        long currentTime = System.currentTimeMillis();
-        int durationMs = Math.max(1, ModernConfigSettings.getAnimationDurationMs());
-        float deltaTime = (currentTime - lastTime) / (float) durationMs;
-        lastTime = currentTime;
-
-        float oldExpandProgress = expandProgress;
-        if (isExpanded) {
-            expandProgress = Math.min(1.0f, expandProgress + deltaTime * 2);
-        } else {
-            expandProgress = Math.max(0.0f, expandProgress - deltaTime * 2);
-        }
-        if (Math.abs(oldExpandProgress - expandProgress) > 0.01f) {
+        expand.setTarget(isExpanded);
+        float expandProgress = expand.getProgress();
+        if (expandProgress != layoutProgress) {
+            layoutProgress = expandProgress;
             updateParentLayout();
         }
 
@@ -146,13 +139,13 @@ public class ModernListWidget extends AbstractWidget {
         int textY = getY() + (LIST_HEADER_HEIGHT - 8) / 2;
         drawListIcon(context, left, textY - 1, mutedColor);
         left += 14;
-        context.text(Minecraft.getInstance().font, getMessage(), left, textY, textColor);
+        RenderUtil.text(context, RenderUtil.font(), getMessage(), left, textY, textColor);
         int n = modernList.getOption().getValue().size();
         String countText = n == 1 ? "1 item" : n + " items";
-        int countWidth = Minecraft.getInstance().font.width(countText);
+        int countWidth = RenderUtil.textWidth(countText);
         int arrowX = getX() + getWidth() - 16;
         int arrowY = getY() + LIST_HEADER_HEIGHT / 2;
-        context.text(Minecraft.getInstance().font, countText, arrowX - countWidth - 8, textY, mutedColor);
+        RenderUtil.text(context, RenderUtil.font(), countText, arrowX - countWidth - 8, textY, mutedColor);
         drawListArrow(context, arrowX, arrowY, isExpanded, arrowColor);
 
         if (expandProgress > 0.001f) {
@@ -160,9 +153,9 @@ public class ModernListWidget extends AbstractWidget {
             int clipY = getY();
             int clipW = getWidth();
             int clipH = getHeight();
-            context.enableScissor(clipX, clipY, clipX + clipW, clipY + clipH);
+            RenderUtil.enableScissor(context, clipX, clipY, clipX + clipW, clipY + clipH);
             modernList.render(context, mouseX, mouseY, delta);
-            context.disableScissor();
+            RenderUtil.disableScissor(context);
         }
     }
 
@@ -3,6 +3,7 @@ package app.qwertz.modernconfig.ui;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import org.lwjgl.glfw.GLFW;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 import net.minecraft.client.input.MouseButtonEvent;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -14,51 +15,79 @@ public class ModernSlider extends AbstractWidget {
     private final double minValue;
     private final double maxValue;
     private double currentValue;
-    private final Consumer<Double> onValueChanged;
-    private Consumer<Double> onDragComplete;
+    private final DoubleConsumer onValueChanged;
+    private DoubleConsumer onDragComplete;
     private boolean isDragging = false;
     private float alpha = 1.0f;
     private boolean isHovering = false;
+    private final Animation hover = new Animation(Easing.OUT_EXPO, 1.0f);
+    /** Thumb position along the track (0 to 1); glides to clicked positions instead of jumping. */
+    private final Animation thumb;
     private final int precision; // Number of decimal places
-    private long lastUpdateTime = 0;
-    private static final long UPDATE_INTERVAL = 50; // 50ms = 0.05 seconds
+    private long lastUpdateNanos = 0;
+    private static final long UPDATE_INTERVAL_NANOS = 50_000_000L; // 50ms = 0.05 seconds
     private final ModernConfigTheme theme;
     
     public ModernSlider(int x, int y, int width, int height, Component message, 
                        double minValue, double maxValue, double currentValue, 
-                       int precision, Consumer<Double> onValueChanged) {
+                       int precision, DoubleConsumer onValueChanged) {
         this(x, y, width, height, message, minValue, maxValue, currentValue, precision, onValueChanged, null);
     }
     
     public ModernSlider(int x, int y, int width, int height, Component message, 
                        double minValue, double maxValue, double currentValue, 
-                       int precision, Consumer<Double> onValueChanged, ModernConfigTheme theme) {
+                       int precision, DoubleConsumer onValueChanged, ModernConfigTheme theme) {
         super(x, y, width, height, message);
         this.minValue = minValue;
         this.maxValue = maxValue;
         this.currentValue = Math.max(minValue, Math.min(maxValue, currentValue));
+        this.thumb = new Animation(Easing.LINEAR, 4.0f, valuePercent(this.currentValue));
         this.precision = precision;
         this.onValueChanged = onValueChanged;
         this.onDragComplete = null;
         this.theme = theme;
     }
     
-    public ModernSlider setOnDragComplete(Consumer<Double> onDragComplete) {
+    /** @deprecated boxes every value; pass a {@link DoubleConsumer}, e.g. {@code (double value) -> ...} */
+    @Deprecated
+    public ModernSlider(int x, int y, int width, int height, Component message, 
+                       double minValue, double maxValue, double currentValue, 
+                       int precision, Consumer<Double> onValueChanged) {
+        this(x, y, width, height, message, minValue, maxValue, currentValue, precision, (DoubleConsumer) onValueChanged::accept, null);
+    }
+    
+    /** @deprecated boxes every value; pass a {@link DoubleConsumer}, e.g. {@code (double value) -> ...} */
+    @Deprecated
+    public ModernSlider(int x, int y, int width, int height, Component message, 
+                       double minValue, double maxValue, double currentValue, 
+                       int precision, Consumer<Double> onValueChanged, ModernConfigTheme theme) {
+        this(x, y, width, height, message, minValue, maxValue, currentValue, precision, (DoubleConsumer) onValueChanged::accept, theme);
+    }
+    
+    public ModernSlider setOnDragComplete(DoubleConsumer onDragComplete) {
         this.onDragComplete = onDragComplete;
         return this;
     }
     
+    /** @deprecated boxes the value; pass a {@link DoubleConsumer} */
+    @Deprecated
+    public ModernSlider setOnDragComplete(Consumer<Double> onDragComplete) {
+        return setOnDragComplete(onDragComplete != null ? (DoubleConsumer) onDragComplete::accept : null);
+    }
+    
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
         // Update hover state
         isHovering = mouseX >= getX() && mouseX <= getX() + getWidth() && 
                     mouseY >= getY() && mouseY <= getY() + getHeight();
         
-        // Handle drag simulation with polling
+        hover.setTarget(isHovering);
+        
+        // Handle drag simulation with polling, paced by the frame clock's time
         if (isDragging) {
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastUpdateTime >= UPDATE_INTERVAL) {
-                lastUpdateTime = currentTime;
+            long frameNanos = FrameClock.frameNanos();
+            if (frameNanos - lastUpdateNanos >= UPDATE_INTERVAL_NANOS) {
+                lastUpdateNanos = frameNanos;
                 
                 // Check if mouse button is still pressed
                 boolean isMousePressed = GLFW.glfwGetMouseButton(Minecraft.getInstance().getWindow().handle(), GLFW.GLFW_MOUSE_BUTTON_LEFT) == GLFW.GLFW_PRESS;
@@ -77,12 +106,12 @@ public class ModernSlider extends AbstractWidget {
         }
         
         // Calculate slider position
-        double valuePercent = (currentValue - minValue) / (maxValue - minValue);
-        int sliderPos = (int) (getX() + 8 + (getWidth() - 20) * valuePercent);
+        int sliderPos = (int) (getX() + 8 + (getWidth() - 20) * thumb.get());
         
-        // Track color: accent (or gold) on hover, gray otherwise
+        // Track color: fades to accent (or gold) on hover, gray otherwise
         int hoverTrackRgb = theme != null ? theme.getAccentColor() : 0xFFD700;
-        int trackColor = isHovering ? RenderUtil.applyAlpha(0xFF000000 | (hoverTrackRgb & 0xFFFFFF), alpha) : RenderUtil.applyAlpha(0xFF444444, alpha);
+        int trackRgb = RenderUtil.interpolateColor(0xFF444444, 0xFF000000 | (hoverTrackRgb & 0xFFFFFF), hover.get());
+        int trackColor = RenderUtil.applyAlpha(trackRgb, alpha);
         int thumbColor = RenderUtil.applyAlpha(0xFFFFFFFF, alpha);
         
         // Draw track background - gray normally, yellow on hover
@@ -104,7 +133,7 @@ public class ModernSlider extends AbstractWidget {
             String fullText = labelText + ": " + valueText;
             
             int textColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
-            context.text(Minecraft.getInstance().font, fullText, getX(), getY() - 2, textColor);
+            RenderUtil.text(context, RenderUtil.font(), fullText, getX(), getY() - 2, textColor);
         } catch (Exception e) {
             // Fail silently if text rendering has issues
         }
@@ -125,7 +154,7 @@ public class ModernSlider extends AbstractWidget {
         if (event.button() == 0 && mouseX >= getX() && mouseX <= getX() + getWidth() &&
             mouseY >= getY() && mouseY <= getY() + getHeight()) {
             isDragging = true;
-            lastUpdateTime = System.currentTimeMillis();
+            lastUpdateNanos = FrameClock.frameNanos();
             updateValueFromMouse(mouseX);
             return true;
         }
@@ -166,6 +195,7 @@ public class ModernSlider extends AbstractWidget {
         
         if (Math.abs(newValue - currentValue) > 0.001) { // Small threshold to prevent excessive updates
             currentValue = newValue;
+            thumb.setTarget(valuePercent(currentValue));
             if (onValueChanged != null) {
                 onValueChanged.accept(currentValue);
             }
@@ -178,6 +208,11 @@ public class ModernSlider extends AbstractWidget {
     
     public void setValue(double value) {
         this.currentValue = Math.max(minValue, Math.min(maxValue, value));
+        thumb.jumpTo(valuePercent(currentValue));
+    }
+    
+    private float valuePercent(double value) {
+        return maxValue > minValue ? (float) ((value - minValue) / (maxValue - minValue)) : 0.0f;
     }
     
     public void setAlpha(float alpha) {
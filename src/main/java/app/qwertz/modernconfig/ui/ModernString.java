@@ -1,9 +1,7 @@
 package app.qwertz.modernconfig.ui;
 
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import java.util.function.Consumer;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.client.gui.components.AbstractWidget;
 import net.minecraft.client.gui.narration.NarrationElementOutput;
@@ -16,12 +14,11 @@ public class ModernString extends AbstractWidget {
     private String value;
     private final Consumer<String> onChange;
     private final ModernConfigTheme theme;
-    private float animationProgress = 0.0f;
+    private final Animation hover = new Animation(Easing.OUT_EXPO, 2.0f);
     private boolean focused = false;
     private int cursorPosition = 0;
     private int selectionStart = 0;
     private int selectionEnd = 0;
-    private long lastTime = System.currentTimeMillis();
     private float cursorBlink = 0.0f;
     private final int maxLength;
 
@@ -103,18 +100,10 @@ public class ModernString extends AbstractWidget {
 
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (currentTime - lastTime) / (float) ModernConfigSettings.getAnimationDurationMs();
-        lastTime = currentTime;
-
-        if (isHovered() || focused) {
-            animationProgress = Math.min(1.0f, animationProgress + deltaTime * 2);
-        } else {
-            animationProgress = Math.max(0.0f, animationProgress - deltaTime * 2);
-        }
+        hover.setTarget(isHovered() || focused);
 
         cursorBlink = (cursorBlink + delta * 0.05f) % 2.0f;
-        float easedProgress = RenderUtil.easeOutExpo(animationProgress);
+        float easedProgress = hover.get();
         
         // Draw background
         int baseColor = 0xFF2A2A2A;
@@ -137,8 +126,8 @@ public class ModernString extends AbstractWidget {
         int textColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
         // Draw label
         float textY = getY() + (getHeight() - 8) / 2.0f;
-        context.text(
-            Minecraft.getInstance().font,
+        RenderUtil.text(context,
+            RenderUtil.font(),
             getMessage(),
             getX() + 8,
             (int)textY,
@@ -146,14 +135,14 @@ public class ModernString extends AbstractWidget {
         );
 
         // Calculate text position
-        int labelWidth = Minecraft.getInstance().font.width(getMessage()) + 16;
+        int labelWidth = RenderUtil.textWidth(getMessage()) + 16;
         int textX = getX() + labelWidth;
         int maxTextWidth = getWidth() - labelWidth - 8;
 
         // Draw text
-        String visibleText = Minecraft.getInstance().font.plainSubstrByWidth(value, maxTextWidth);
-        context.text(
-            Minecraft.getInstance().font,
+        String visibleText = RenderUtil.clipToWidth(value, maxTextWidth);
+        RenderUtil.text(context,
+            RenderUtil.font(),
             visibleText,
             textX,
             (int)textY,
@@ -163,22 +152,22 @@ public class ModernString extends AbstractWidget {
         // Draw cursor (ensure full opacity - theme accent may be RGB only)
         if (focused && cursorBlink < 1.0f) {
             String textBeforeCursor = value.substring(0, cursorPosition);
-            int cursorX = textX + Minecraft.getInstance().font.width(textBeforeCursor);
+            int cursorX = textX + RenderUtil.textWidth(textBeforeCursor);
             int cursorColor = theme != null ? (0xFF000000 | (theme.getAccentColor() & 0xFFFFFF)) : 0xFFFFFFFF;
-            context.fill(cursorX, (int)textY - 1, cursorX + 1, (int)textY + 9, cursorColor);
+            RenderUtil.fill(context, cursorX, (int)textY - 1, cursorX + 1, (int)textY + 9, cursorColor);
         }
     }
 
     private void applyClickFocusAndCursor(double mouseX, double mouseY) {
         focused = true;
-        int labelWidth = Minecraft.getInstance().font.width(getMessage()) + 16;
+        int labelWidth = RenderUtil.textWidth(getMessage()) + 16;
         int textX = getX() + labelWidth;
         int relativeX = (int) mouseX - textX;
         String visibleText = value;
         cursorPosition = 0;
         int currentWidth = 0;
         for (int i = 0; i < visibleText.length(); i++) {
-            int charWidth = Minecraft.getInstance().font.width(String.valueOf(visibleText.charAt(i)));
+            int charWidth = RenderUtil.textWidth(String.valueOf(visibleText.charAt(i)));
             if (Math.abs(currentWidth - relativeX) > Math.abs(currentWidth + charWidth - relativeX)) {
                 cursorPosition = i + 1;
             }
@@ -1,10 +1,8 @@
 package app.qwertz.modernconfig.ui;
 
-import app.qwertz.modernconfig.config.ModernConfigSettings;
 import app.qwertz.modernconfig.theme.ModernConfigTheme;
 import java.util.function.Consumer;
 import net.minecraft.client.input.MouseButtonEvent;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.client.gui.components.AbstractWidget;
 import net.minecraft.client.gui.narration.NarrationElementOutput;
@@ -14,9 +12,8 @@ public class ModernToggle extends AbstractWidget {
     private boolean state;
     private final Consumer<Boolean> onToggle;
     private final ModernConfigTheme theme;
-    private float animationProgress = 0.0f;
-    private float toggleProgress = 0.0f;
-    private long lastTime = System.currentTimeMillis();
+    private final Animation hover = new Animation(Easing.OUT_EXPO, 1.0f);
+    private final Animation toggle;
 
     public ModernToggle(int x, int y, int width, int height, Component text, boolean initial, Consumer<Boolean> onToggle) {
         this(x, y, width, height, text, initial, onToggle, null);
@@ -27,31 +24,16 @@ public class ModernToggle extends AbstractWidget {
         this.state = initial;
         this.onToggle = onToggle;
         this.theme = theme;
-        this.toggleProgress = initial ? 1.0f : 0.0f;
+        this.toggle = new Animation(Easing.IN_OUT_QUAD, 2.0f, initial ? 1.0f : 0.0f);
     }
 
     @Override
     protected void extractWidgetRenderState(GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (currentTime - lastTime) / (float) ModernConfigSettings.getAnimationDurationMs();
-        lastTime = currentTime;
-
-        // Hover animation
-        if (isHovered()) {
-            animationProgress = Math.min(1.0f, animationProgress + deltaTime);
-        } else {
-            animationProgress = Math.max(0.0f, animationProgress - deltaTime);
-        }
-
-        // Toggle animation
-        if (state) {
-            toggleProgress = Math.min(1.0f, toggleProgress + deltaTime * 2);
-        } else {
-            toggleProgress = Math.max(0.0f, toggleProgress - deltaTime * 2);
-        }
-
-        float easedHoverProgress = RenderUtil.easeOutExpo(animationProgress);
-        float easedToggleProgress = RenderUtil.easeInOutQuad(toggleProgress);
+        // Animations are advanced by the frame clock; here they only get their targets
+        hover.setTarget(isHovered());
+        toggle.setTarget(state);
+        float easedHoverProgress = hover.get();
+        float easedToggleProgress = toggle.get();
         
         // Draw background
         int baseColor = 0xFF2A2A2A;
@@ -79,8 +61,8 @@ public class ModernToggle extends AbstractWidget {
         // Draw text
         int textColor = theme != null ? theme.getTextColor() : 0xFFFFFFFF;
         float textY = getY() + (getHeight() - 8) / 2.0f;
-        context.text(
-            Minecraft.getInstance().font,
+        RenderUtil.text(context,
+            RenderUtil.font(),
             getMessage(),
             getX() + 8,
             (int)textY,
@@ -0,0 +1,119 @@
+package app.qwertz.modernconfig.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.minecraft.client.gui.Font;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * {@link DrawTarget} that records what it is given instead of drawing, e.g. to check how many primitives widgets
+ * emit when drawn through {@link RenderUtil#drawInto}, directly or through a {@link DrawBuffer}.
+ */
+public class RecordingDrawTarget implements DrawTarget {
+    private final List<Primitive> primitives = new ArrayList<>();
+    private int fillCount;
+    private int blitCount;
+    private int textCount;
+    private int itemCount;
+    private int scissorCount;
+
+    @Override
+    public void fill(int x1, int y1, int x2, int y2, int color) {
+        primitives.add(new Primitive(Kind.FILL, null, x1, y1, x2, y2, color));
+        fillCount++;
+    }
+
+    /** Recorded as a fill with the top color. */
+    @Override
+    public void fillGradient(int x1, int y1, int x2, int y2, int topColor, int bottomColor) {
+        fill(x1, y1, x2, y2, topColor);
+    }
+
+    @Override
+    public void blit(Identifier texture, int x, int y, float u, float v, int width, int height, int textureWidth, int textureHeight, int color) {
+        primitives.add(new Primitive(Kind.BLIT, texture, x, y, x + width, y + height, color));
+        blitCount++;
+    }
+
+    @Override
+    public void text(Font font, String text, int x, int y, int color, boolean shadow) {
+        primitives.add(new Primitive(Kind.TEXT, null, x, y, x, y, color));
+        textCount++;
+    }
+
+    @Override
+    public void text(Font font, Component text, int x, int y, int color, boolean shadow) {
+        primitives.add(new Primitive(Kind.TEXT, null, x, y, x, y, color));
+        textCount++;
+    }
+
+    @Override
+    public void item(ItemStack stack, int x, int y) {
+        primitives.add(new Primitive(Kind.ITEM, null, x, y, x + 16, y + 16, 0));
+        itemCount++;
+    }
+
+    /** Scissor changes are counted but not recorded as primitives. */
+    @Override
+    public void enableScissor(int x1, int y1, int x2, int y2) {
+        scissorCount++;
+    }
+
+    @Override
+    public void disableScissor() {
+        scissorCount++;
+    }
+
+    public int getFillCount() {
+        return fillCount;
+    }
+
+    public int getBlitCount() {
+        return blitCount;
+    }
+
+    public int getTextCount() {
+        return textCount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /** Number of scissor enables and disables. */
+    public int getScissorCount() {
+        return scissorCount;
+    }
+
+    public int getPrimitiveCount() {
+        return primitives.size();
+    }
+
+    /** Everything recorded so far, in draw order. */
+    public List<Primitive> getPrimitives() {
+        return Collections.unmodifiableList(primitives);
+    }
+
+    public void reset() {
+        primitives.clear();
+        fillCount = 0;
+        blitCount = 0;
+        textCount = 0;
+        itemCount = 0;
+        scissorCount = 0;
+    }
+
+    public enum Kind {
+        FILL, BLIT, TEXT, ITEM
+    }
+
+    /** A recorded primitive with its screen bounds (text only has a position) and ARGB color. */
+    public record Primitive(Kind kind, Identifier texture, int x1, int y1, int x2, int y2, int color) {
+        public boolean isFill() {
+            return kind == Kind.FILL;
+        }
+    }
+}
@@ -1,30 +1,285 @@
 package app.qwertz.modernconfig.ui;
 
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
+import net.minecraft.client.renderer.RenderPipelines;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.item.ItemStack;
 
 public class RenderUtil {
+    /** Radii up to this size get their corner edges cached; larger ones are computed per draw. */
+    private static final int MAX_CACHED_RADIUS = 64;
+    private static final float[][] CORNER_EDGES = new float[MAX_CACHED_RADIUS + 1][];
+    /** From this radius on, four textured corners plus three fills are fewer draws than one span per corner row. */
+    static final int MIN_TEXTURED_RADIUS = 4;
+
+    /** Text metrics used without a client, e.g. in tests: about the width of an average glyph of the game's font. */
+    private static final int FALLBACK_CHAR_WIDTH = 6;
+    private static final int FALLBACK_LINE_HEIGHT = 9;
+
+    /** Forwards to the context being drawn to when no other target is set. */
+    private static final ContextTarget CONTEXT_TARGET = new ContextTarget();
+    /** Where RenderUtil draws instead of the context; null to draw to the context. Render thread only. */
+    private static DrawTarget redirect;
+
+    /**
+     * Run the drawing code with every draw call made through RenderUtil sent to the target instead of the context,
+     * e.g. a {@link DrawBuffer} to batch a container, or a {@link RecordingDrawTarget} to count what widgets emit.
+     * Calls nest; the previous target is restored afterwards, also if the drawing code throws. Render thread only.
+     */
+    public static void drawInto(DrawTarget target, Runnable draw) {
+        DrawTarget previous = redirect(target);
+        try {
+            draw.run();
+        } finally {
+            redirect(previous);
+        }
+    }
+
+    /** Send draw calls to the target (null for the context) and return the previous one, to be restored by the caller. */
+    static DrawTarget redirect(DrawTarget target) {
+        DrawTarget previous = redirect;
+        redirect = target;
+        return previous;
+    }
+
+    /** Where draw calls for this context go: the target set by {@link #drawInto}, otherwise the context itself. */
+    static DrawTarget target(GuiGraphicsExtractor context) {
+        if (redirect != null) return redirect;
+        CONTEXT_TARGET.context = context;
+        return CONTEXT_TARGET;
+    }
+
+    /** The game's font, or null without a client; targets other than the context do not need one. */
+    public static Font font() {
+        Minecraft client = Minecraft.getInstance();
+        return client != null ? client.font : null;
+    }
+
+    public static int textWidth(String text) {
+        Font font = font();
+        return font != null ? font.width(text) : text.length() * FALLBACK_CHAR_WIDTH;
+    }
+
+    public static int textWidth(Component text) {
+        Font font = font();
+        return font != null ? font.width(text) : text.getString().length() * FALLBACK_CHAR_WIDTH;
+    }
+
+    public static int lineHeight() {
+        Font font = font();
+        return font != null ? font.lineHeight : FALLBACK_LINE_HEIGHT;
+    }
+
+    /** The longest start of the text that fits in the width. */
+    public static String clipToWidth(String text, int width) {
+        Font font = font();
+        if (font != null) return font.plainSubstrByWidth(text, width);
+        return text.substring(0, Math.min(text.length(), Math.max(0, width / FALLBACK_CHAR_WIDTH)));
+    }
+
+    public static void fill(GuiGraphicsExtractor context, int x1, int y1, int x2, int y2, int color) {
+        target(context).fill(x1, y1, x2, y2, color);
+    }
+
+    public static void fillGradient(GuiGraphicsExtractor context, int x1, int y1, int x2, int y2, int topColor, int bottomColor) {
+        target(context).fillGradient(x1, y1, x2, y2, topColor, bottomColor);
+    }
+
+    /** {@code context.text}, with a shadow. */
+    public static void text(GuiGraphicsExtractor context, Font font, String text, int x, int y, int color) {
+        target(context).text(font, text, x, y, color, true);
+    }
+
+    public static void text(GuiGraphicsExtractor context, Font font, String text, int x, int y, int color, boolean shadow) {
+        target(context).text(font, text, x, y, color, shadow);
+    }
+
+    public static void text(GuiGraphicsExtractor context, Font font, Component text, int x, int y, int color) {
+        target(context).text(font, text, x, y, color, true);
+    }
+
+    public static void text(GuiGraphicsExtractor context, Font font, Component text, int x, int y, int color, boolean shadow) {
+        target(context).text(font, text, x, y, color, shadow);
+    }
+
+    public static void item(GuiGraphicsExtractor context, ItemStack stack, int x, int y) {
+        target(context).item(stack, x, y);
+    }
+
+    /** {@code context.blit} with the textured GUI pipeline. */
+    public static void blit(GuiGraphicsExtractor context, Identifier texture, int x, int y, float u, float v, int width, int height, int textureWidth, int textureHeight, int color) {
+        target(context).blit(texture, x, y, u, v, width, height, textureWidth, textureHeight, color);
+    }
+
+    public static void enableScissor(GuiGraphicsExtractor context, int x1, int y1, int x2, int y2) {
+        target(context).enableScissor(x1, y1, x2, y2);
+    }
+
+    public static void disableScissor(GuiGraphicsExtractor context) {
+        target(context).disableScissor();
+    }
+
+    /**
+     * Fill a rounded rectangle. A zero radius is a single fill; larger radii are drawn as a nine-slice of three
+     * fills and four tinted corner textures (see {@link RoundedRectTextures}), small ones with one span per corner
+     * row. No pixel is drawn twice, so translucent colors blend evenly.
+     */
     public static void drawRoundedRect(GuiGraphicsExtractor context, int x, int y, int width, int height, int radius, int color) {
-        context.fill(x + radius, y, x + width - radius, y + height, color);
-        context.fill(x, y + radius, x + width, y + height - radius, color);
-
-        for (int i = 0; i < radius * 2; i++) {
-            for (int j = 0; j < radius * 2; j++) {
-                float dx = i - radius;
-                float dy = j - radius;
-                if (dx * dx + dy * dy <= radius * radius) {
-                    context.fill(x + i, y + j, x + i + 1, y + j + 1, color);
-                    context.fill(x + width - radius * 2 + i, y + j, x + width - radius * 2 + i + 1, y + j + 1, color);
-                    context.fill(x + i, y + height - radius * 2 + j, x + i + 1, y + height - radius * 2 + j + 1, color);
-                    context.fill(x + width - radius * 2 + i, y + height - radius * 2 + j, x + width - radius * 2 + i + 1, y + height - radius * 2 + j + 1, color);
-                }
+        drawRoundedRect(context, x, y, width, height, radius, color, false);
+    }
+
+    /**
+     * Like {@link #drawRoundedRect(GuiGraphicsExtractor, int, int, int, int, int, int)}; with antiAlias, the
+     * partially covered pixel at each end of a corner row is drawn with its coverage as alpha.
+     */
+    public static void drawRoundedRect(GuiGraphicsExtractor context, int x, int y, int width, int height, int radius, int color, boolean antiAlias) {
+        if (width <= 0 || height <= 0) return;
+        int r = cornerRadius(radius, width, height);
+        Identifier corners = r >= MIN_TEXTURED_RADIUS ? RoundedRectTextures.corners(r, 0, antiAlias) : null;
+        drawRoundedRect(target(context), x, y, width, height, r, color, antiAlias, corners);
+    }
+
+    /** The radius a rounded rect of this size is drawn with: at most half its shorter side. */
+    static int cornerRadius(int radius, int width, int height) {
+        return Math.min(radius, Math.min(width, height) / 2);
+    }
+
+    /**
+     * Draw a rounded rect into the target with the given corner mask for its {@link #cornerRadius}, or with spans
+     * if {@code corners} is null.
+     */
+    static void drawRoundedRect(DrawTarget target, int x, int y, int width, int height, int radius, int color, boolean antiAlias, Identifier corners) {
+        if (width <= 0 || height <= 0) return;
+        int r = cornerRadius(radius, width, height);
+        if (r <= 0) {
+            target.fill(x, y, x + width, y + height, color);
+            return;
+        }
+        if (corners != null) {
+            drawCorners(target, corners, x, y, width, height, r, color);
+            if (width > 2 * r) {
+                target.fill(x + r, y, x + width - r, y + height, color);
+            }
+            if (height > 2 * r) {
+                target.fill(x, y + r, x + r, y + height - r, color);
+                target.fill(x + width - r, y + r, x + width, y + height - r, color);
+            }
+            return;
+        }
+        float[] edges = cornerEdges(r);
+        int right = x + width;
+        int bottom = y + height;
+        if (height > 2 * r) {
+            target.fill(x, y + r, right, bottom - r, color);
+        }
+        if (antiAlias) {
+            for (int row = 0; row < r; row++) {
+                drawAntiAliasedRow(target, x, right, y + row, edges[row], color);
+                drawAntiAliasedRow(target, x, right, bottom - 1 - row, edges[row], color);
             }
+            return;
+        }
+        // Consecutive rows with the same inset share a fill
+        int row = 0;
+        while (row < r) {
+            int inset = (int) Math.ceil(edges[row]);
+            int end = row + 1;
+            while (end < r && (int) Math.ceil(edges[end]) == inset) {
+                end++;
+            }
+            target.fill(x + inset, y + row, right - inset, y + end, color);
+            target.fill(x + inset, bottom - end, right - inset, bottom - row, color);
+            row = end;
+        }
+    }
+
+    /**
+     * Draw the outline of a rounded rectangle, {@code thickness} pixels wide and inside the given bounds: four
+     * tinted corner textures and four fills. Falls back to square corners if textures are not available.
+     */
+    public static void drawRoundedOutline(GuiGraphicsExtractor context, int x, int y, int width, int height, int radius, int thickness, int color, boolean antiAlias) {
+        if (width <= 0 || height <= 0 || thickness <= 0) return;
+        int t = cornerRadius(thickness, width, height);
+        int r = cornerRadius(radius, width, height);
+        // Corners only round off when the radius is larger than the line; otherwise the lines meet squarely
+        Identifier corners = r > t ? RoundedRectTextures.corners(r, t, antiAlias) : null;
+        drawRoundedOutline(target(context), x, y, width, height, r, t, color, corners);
+    }
+
+    /** Draw a rounded outline into the target with the given corner mask, or with square corners if it is null. */
+    static void drawRoundedOutline(DrawTarget target, int x, int y, int width, int height, int radius, int thickness, int color, Identifier corners) {
+        if (width <= 0 || height <= 0 || thickness <= 0) return;
+        int t = cornerRadius(thickness, width, height);
+        int r = corners != null ? cornerRadius(radius, width, height) : 0;
+        if (corners != null) {
+            drawCorners(target, corners, x, y, width, height, r, color);
+        }
+        int right = x + width;
+        int bottom = y + height;
+        int sideTop = r > 0 ? y + r : y + t;
+        int sideBottom = r > 0 ? bottom - r : bottom - t;
+        target.fill(x + r, y, right - r, y + t, color);
+        target.fill(x + r, bottom - t, right - r, bottom, color);
+        target.fill(x, sideTop, x + t, sideBottom, color);
+        target.fill(right - t, sideTop, right, sideBottom, color);
+    }
+
+    private static void drawCorners(DrawTarget target, Identifier corners, int x, int y, int width, int height, int r, int color) {
+        int size = r * 2;
+        int right = x + width - r;
+        int bottom = y + height - r;
+        target.blit(corners, x, y, 0, 0, r, r, size, size, color);
+        target.blit(corners, right, y, r, 0, r, r, size, size, color);
+        target.blit(corners, x, bottom, 0, r, r, r, size, size, color);
+        target.blit(corners, right, bottom, r, r, r, r, size, size, color);
+    }
+
+    /** Free the generated rounded-rect and color picker textures; called on resource reload, they are recreated when next drawn. */
+    public static void releaseTextures() {
+        RoundedRectTextures.releaseAll();
+        ColorPickerTextures.releaseAll();
+    }
+
+    private static void drawAntiAliasedRow(DrawTarget target, int left, int right, int rowY, float edge, int color) {
+        int solid = (int) Math.ceil(edge);
+        if (solid < right - left - solid) {
+            target.fill(left + solid, rowY, right - solid, rowY + 1, color);
+        }
+        float coverage = solid - edge;
+        if (coverage > 0 && solid > 0) {
+            int partial = applyAlpha(color, coverage);
+            target.fill(left + solid - 1, rowY, left + solid, rowY + 1, partial);
+            target.fill(right - solid, rowY, right - solid + 1, rowY + 1, partial);
+        }
+    }
+
+    /**
+     * Horizontal distance from the rectangle edge to the corner circle for each corner row, outermost row first.
+     * Pixels from the next whole column inwards are filled, the same shape the per-pixel version produced.
+     */
+    private static float[] cornerEdges(int radius) {
+        if (radius <= MAX_CACHED_RADIUS) {
+            float[] cached = CORNER_EDGES[radius];
+            if (cached != null) return cached;
+        }
+        float[] edges = new float[radius];
+        for (int row = 0; row < radius; row++) {
+            float dy = radius - row;
+            edges[row] = radius - (float) Math.sqrt((float) radius * radius - dy * dy);
         }
+        if (radius <= MAX_CACHED_RADIUS) {
+            CORNER_EDGES[radius] = edges;
+        }
+        return edges;
     }
 
     public static void drawBlurredBackground(GuiGraphicsExtractor context, int x, int y, int width, int height, float alpha) {
         int color1 = (int)(alpha * 255) << 24 | 0x101010;
         int color2 = (int)(alpha * 255) << 24 | 0x202020;
-        context.fillGradient(x, y, x + width, y + height, color1, color2);
+        fillGradient(context, x, y, x + width, y + height, color1, color2);
     }
 
     public static float easeOutExpo(float x) {
@@ -69,4 +324,49 @@ public class RenderUtil {
         int newAlpha = (int)(originalAlpha * alpha);
         return (color & 0x00FFFFFF) | (newAlpha << 24);
     }
+
+    /** Forwards to the context it was last pointed at. */
+    private static final class ContextTarget implements DrawTarget {
+        GuiGraphicsExtractor context;
+
+        @Override
+        public void fill(int x1, int y1, int x2, int y2, int color) {
+            context.fill(x1, y1, x2, y2, color);
+        }
+
+        @Override
+        public void fillGradient(int x1, int y1, int x2, int y2, int topColor, int bottomColor) {
+            context.fillGradient(x1, y1, x2, y2, topColor, bottomColor);
+        }
+
+        @Override
+        public void blit(Identifier texture, int x, int y, float u, float v, int width, int height, int textureWidth, int textureHeight, int color) {
+            context.blit(RenderPipelines.GUI_TEXTURED, texture, x, y, u, v, width, height, textureWidth, textureHeight, color);
+        }
+
+        @Override
+        public void text(Font font, String text, int x, int y, int color, boolean shadow) {
+            context.text(font, text, x, y, color, shadow);
+        }
+
+        @Override
+        public void text(Font font, Component text, int x, int y, int color, boolean shadow) {
+            context.text(font, text, x, y, color, shadow);
+        }
+
+        @Override
+        public void item(ItemStack stack, int x, int y) {
+            context.item(stack, x, y);
+        }
+
+        @Override
+        public void enableScissor(int x1, int y1, int x2, int y2) {
+            context.enableScissor(x1, y1, x2, y2);
+        }
+
+        @Override
+        public void disableScissor() {
+            context.disableScissor();
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package app.qwertz.modernconfig.ui;
+
+import com.mojang.blaze3d.platform.NativeImage;
+import java.util.HashMap;
+import java.util.Map;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.resources.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * White alpha masks of the four corners of a rounded rect, generated on first use per radius, outline width and
+ * anti-aliasing, and tinted when drawn. A mask is 2r x 2r with one corner in each quadrant. Only used from the
+ * render thread; {@link #releaseAll()} frees them on resource reload and they are regenerated on demand.
+ */
+final class RoundedRectTextures {
+    private static final Logger LOGGER = LoggerFactory.getLogger("ModernConfig");
+    private static final Map<Integer, Identifier> TEXTURES = new HashMap<>();
+    /** Largest radius and outline width a mask is generated for; keeps the cache key packed into an int. */
+    static final int MAX_RADIUS = 255;
+    /** Samples per axis when computing anti-aliased coverage. */
+    private static final int SUPERSAMPLE = 4;
+    /** Set if a texture could not be created; callers then fall back to fills until the next reload. */
+    private static boolean unavailable;
+
+    private RoundedRectTextures() {
+    }
+
+    /** Corner mask for the radius, or null if textures are not available. outline 0 means a filled corner. */
+    static Identifier corners(int radius, int outline, boolean antiAlias) {
+        if (unavailable || radius > MAX_RADIUS) return null;
+        int key = radius | Math.min(outline, MAX_RADIUS) << 8 | (antiAlias ? 1 << 16 : 0);
+        Identifier id = TEXTURES.get(key);
+        if (id == null) {
+            if (Minecraft.getInstance() == null) {
+                // No client to upload to (e.g. in tests): the id still stands for the mask the game would draw
+                return id(radius, outline, antiAlias);
+            }
+            try {
+                id = create(radius, outline, antiAlias);
+                TEXTURES.put(key, id);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to create a rounded rect corner mask; drawing rounded rects with fills", e);
+                unavailable = true;
+            }
+        }
+        return id;
+    }
+
+    /** Free every generated texture. */
+    static void releaseAll() {
+        Minecraft client = Minecraft.getInstance();
+        if (client != null) {
+            for (Identifier id : TEXTURES.values()) {
+                client.getTextureManager().release(id);
+            }
+        }
+        TEXTURES.clear();
+        unavailable = false;
+    }
+
+    private static Identifier create(int radius, int outline, boolean antiAlias) {
+        int size = radius * 2;
+        NativeImage image = new NativeImage(size, size, true);
+        for (int row = 0; row < radius; row++) {
+            for (int col = 0; col < radius; col++) {
+                int alpha = Math.round(coverage(radius, outline, antiAlias, col, row) * 255);
+                int argb = alpha << 24 | 0xFFFFFF;
+                image.setPixel(col, row, argb);
+                image.setPixel(size - 1 - col, row, argb);
+                image.setPixel(col, size - 1 - row, argb);
+                image.setPixel(size - 1 - col, size - 1 - row, argb);
+            }
+        }
+        Identifier id = id(radius, outline, antiAlias);
+        Minecraft.getInstance().getTextureManager().register(id, new DynamicTexture(() -> "ModernConfig " + id.getPath(), image));
+        return id;
+    }
+
+    /** Id the mask for this radius, outline width and anti-aliasing is registered under. */
+    static Identifier id(int radius, int outline, boolean antiAlias) {
+        return Identifier.fromNamespaceAndPath("modernconfig", "rounded_rect/r" + radius + "_o" + outline + (antiAlias ? "_aa" : ""));
+    }
+
+    /**
+     * Coverage of a top-left corner pixel. Without anti-aliasing a pixel is either in or out, sampled the same way
+     * as the span rasterizer in {@link RenderUtil}, so both produce the same shape.
+     */
+    private static float coverage(int radius, int outline, boolean antiAlias, int col, int row) {
+        if (!antiAlias) {
+            return inside(radius, outline, col, row) ? 1 : 0;
+        }
+        int hits = 0;
+        for (int sy = 0; sy < SUPERSAMPLE; sy++) {
+            for (int sx = 0; sx < SUPERSAMPLE; sx++) {
+                float px = col - 0.5f + (sx + 0.5f) / SUPERSAMPLE;
+                float py = row - 0.5f + (sy + 0.5f) / SUPERSAMPLE;
+                if (inside(radius, outline, px, py)) hits++;
+            }
+        }
+        return hits / (float) (SUPERSAMPLE * SUPERSAMPLE);
+    }
+
+    private static boolean inside(int radius, int outline, float x, float y) {
+        float dx = x - radius;
+        float dy = y - radius;
+        float distance = dx * dx + dy * dy;
+        if (distance > radius * radius) return false;
+        if (outline <= 0 || outline >= radius) return true;
+        float inner = radius - outline;
+        return distance > inner * inner;
+    }
+}
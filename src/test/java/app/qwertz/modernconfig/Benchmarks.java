@@ -0,0 +1,68 @@
+package app.qwertz.modernconfig;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Small timing harness for the {@code *Benchmark} tests. They are skipped unless the build runs with
+ * {@code -Dmodernconfig.benchmarks=true}, e.g. {@code ./gradlew test --tests '*Benchmark' -Dmodernconfig.benchmarks=true}.
+ * Each measurement warms up, then times several rounds and reports the median time and the bytes allocated per
+ * operation. The results measured so far are kept next to each benchmark.
+ */
+public final class Benchmarks {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    /** Results are folded in here so the JIT cannot drop the measured work. */
+    private static volatile long sink;
+
+    private Benchmarks() {
+    }
+
+    public static boolean enabled() {
+        return Boolean.getBoolean("modernconfig.benchmarks");
+    }
+
+    /** Time {@code operations} calls of the operation per round; its result is consumed so the work is kept. */
+    public static Result measure(String name, int operations, Operation operation) throws Exception {
+        long[] nanos = new long[ROUNDS];
+        long allocated = 0;
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            long result = 0;
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < operations; i++) {
+                result += operation.run(i);
+            }
+            long elapsed = System.nanoTime() - start;
+            long bytes = allocatedBytes() - bytesBefore;
+            sink += result;
+            if (round >= 0) {
+                nanos[round] = elapsed;
+                allocated += bytes;
+            }
+        }
+        Arrays.sort(nanos);
+        Result result = new Result(name, (double) nanos[ROUNDS / 2] / operations, (double) allocated / ROUNDS / operations);
+        System.out.println(result);
+        return result;
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        long run(int iteration) throws Exception;
+    }
+
+    public record Result(String name, double nanosPerOperation, double bytesPerOperation) {
+        @Override
+        public String toString() {
+            return String.format("%-44s %12.1f ns/op %12.1f B/op", name, nanosPerOperation, bytesPerOperation);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package app.qwertz.modernconfig.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Writers set option values while other threads flush the changes to disk and reload the file, and readers
+ * read the options directly. Every value a writer sets carries its counter in both halves of a long, so a reader
+ * that sees the halves differ has read a torn value; a counter below 1 means a reload brought back the default.
+ * <p>
+ * Writers also apply transactions while readers take snapshots and read handles. Every writer owns its options
+ * and only ever increases them, so a reader that sees a value go back has read a stale one; a transaction keeps
+ * {@code pair.right == -pair.left}, so a snapshot that breaks it is torn. Snapshots must also stay whole while
+ * the file is saved and reloaded underneath them.
+ */
+class ConcurrentAccessTest {
+    private static final String MOD_ID = "modernconfig_concurrency_test";
+    private static final int WRITERS = 4;
+    private static final int READERS = 3;
+    private static final int WRITES = 20_000;
+    private static final int TRANSACTIONS = 5_000;
+
+    @BeforeAll
+    static void saveAlmostImmediately() {
+        ConfigManager.setSaveDebounceMs(1);
+    }
+
+    @Test
+    void readersNeverSeeTornOrResetValuesDuringSavesAndReloads() throws InterruptedException {
+        LongConfigOption[] counters = new LongConfigOption[WRITERS];
+        Map<String, Object> options = new LinkedHashMap<>();
+        for (int i = 0; i < WRITERS; i++) {
+            counters[i] = new LongConfigOption("w" + i, "Writer " + i, "", 0);
+            options.put("w" + i, counters[i]);
+        }
+        ModernConfig.create(MOD_ID, options);
+        // Start from a file that holds counter 1, so a reload can bring values back but never to the default
+        for (LongConfigOption counter : counters) {
+            counter.setLong(pack(1));
+        }
+        ConfigManager.save(MOD_ID);
+        long writesBefore = ConfigManager.getWriteCount();
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger reloads = new AtomicInteger();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            LongConfigOption counter = counters[i];
+            writers.add(new Thread(() -> {
+                await(start);
+                for (int value = 2; value <= WRITES; value++) {
+                    counter.setLong(pack(value));
+                }
+            }, "writer-" + i));
+        }
+
+        List<Thread> background = new ArrayList<>();
+        background.add(new Thread(() -> {
+            await(start);
+            while (writing.get()) {
+                ConfigManager.flush();
+            }
+        }, "flusher"));
+        background.add(new Thread(() -> {
+            await(start);
+            while (writing.get()) {
+                ConfigManager.load(MOD_ID);
+                reloads.incrementAndGet();
+                // Loads hold the write lock; let the flusher and the background writer have it in between
+                Thread.yield();
+            }
+        }, "reloader"));
+        for (int r = 0; r < READERS; r++) {
+            background.add(new Thread(() -> {
+                await(start);
+                do {
+                    for (int i = 0; i < WRITERS; i++) {
+                        long value = counters[i].getLong();
+                        int high = (int) (value >>> 32);
+                        int low = (int) value;
+                        if (high != low) {
+                            failures.add("torn value for w" + i + ": " + high + " / " + low);
+                        } else if (low < 1) {
+                            failures.add("w" + i + " was reset to " + low);
+                        }
+                    }
+                } while (writing.get() && failures.size() < 20);
+            }, "reader-" + r));
+        }
+
+        writers.forEach(Thread::start);
+        background.forEach(Thread::start);
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        writing.set(false);
+        for (Thread thread : background) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> String.join("\n", failures));
+        assertTrue(reloads.get() > 0, "the file was never reloaded");
+        assertTrue(ConfigManager.getWriteCount() > writesBefore, "nothing was written while the writers ran");
+
+        // A reload may have brought back an older value; the latest value set must still reach the file
+        for (LongConfigOption counter : counters) {
+            counter.setLong(pack(WRITES + 1));
+        }
+        ConfigManager.flush();
+        ConfigManager.load(MOD_ID);
+        for (int i = 0; i < WRITERS; i++) {
+            assertEquals(pack(WRITES + 1), counters[i].getLong(), "w" + i + " did not survive a save and reload");
+        }
+    }
+
+    @Test
+    void readersNeverSeeTornOrStaleValues() throws InterruptedException {
+        IntConfigOption[] counters = new IntConfigOption[WRITERS];
+        Map<String, Object> options = new LinkedHashMap<>();
+        for (int i = 0; i < WRITERS; i++) {
+            counters[i] = new IntConfigOption("w" + i, "Writer " + i, "", 0);
+            options.put("w" + i, counters[i]);
+        }
+        IntConfigOption left = new IntConfigOption("left", "Left", "", 0);
+        IntConfigOption right = new IntConfigOption("right", "Right", "", 0);
+        Map<String, Object> pair = new LinkedHashMap<>();
+        pair.put("left", left);
+        pair.put("right", right);
+        options.put("pair", pair);
+        ModernConfig config = ModernConfig.create("modernconfig_snapshot_concurrency_test", options);
+        // Registering loads the file an earlier run left behind
+        config.edit(tx -> tx.resetCategory(""));
+        IntHandle[] handles = new IntHandle[WRITERS];
+        for (int i = 0; i < WRITERS; i++) {
+            handles[i] = config.intHandle("w" + i);
+        }
+        long initialVersion = config.snapshot().getVersion();
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            IntConfigOption counter = counters[i];
+            writers.add(new Thread(() -> {
+                await(start);
+                for (int value = 1; value <= WRITES; value++) {
+                    counter.setValue(value);
+                }
+            }, "writer-" + i));
+        }
+        writers.add(new Thread(() -> {
+            await(start);
+            for (int value = 1; value <= TRANSACTIONS; value++) {
+                int next = value;
+                config.edit(tx -> tx.set(left, next).set(right, -next));
+            }
+        }, "transaction-writer"));
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(new Thread(() -> {
+                await(start);
+                long lastVersion = -1;
+                int[] lastSnapshot = new int[WRITERS];
+                int[] lastDirect = new int[WRITERS];
+                int[] lastHandle = new int[WRITERS];
+                int[] seen = new int[WRITERS];
+                do {
+                    ConfigSnapshot snapshot = config.snapshot();
+                    long version = snapshot.getVersion();
+                    for (int i = 0; i < WRITERS; i++) {
+                        seen[i] = snapshot.getInt("w" + i);
+                    }
+                    int snapshotLeft = snapshot.getInt("pair.left");
+                    int snapshotRight = snapshot.getInt("pair.right");
+                    if (snapshotRight != -snapshotLeft) {
+                        failures.add("torn snapshot " + version + ": left " + snapshotLeft + ", right " + snapshotRight);
+                    }
+                    if (version < lastVersion) {
+                        failures.add("snapshot version went back from " + lastVersion + " to " + version);
+                    } else if (version == lastVersion && !Arrays.equals(seen, lastSnapshot)) {
+                        failures.add("snapshot version " + version + " stands for two sets of values");
+                    }
+                    for (int i = 0; i < WRITERS; i++) {
+                        if (seen[i] < lastSnapshot[i]) {
+                            failures.add("snapshot w" + i + " went back from " + lastSnapshot[i] + " to " + seen[i]);
+                        }
+                        int direct = counters[i].getInt();
+                        if (direct < lastDirect[i]) {
+                            failures.add("option w" + i + " went back from " + lastDirect[i] + " to " + direct);
+                        }
+                        int handle = handles[i].get();
+                        if (handle < lastHandle[i]) {
+                            failures.add("handle w" + i + " went back from " + lastHandle[i] + " to " + handle);
+                        }
+                        lastDirect[i] = direct;
+                        lastHandle[i] = handle;
+                    }
+                    System.arraycopy(seen, 0, lastSnapshot, 0, WRITERS);
+                    lastVersion = version;
+                } while (writing.get() && failures.size() < 20);
+            }, "reader-" + r));
+        }
+
+        writers.forEach(Thread::start);
+        readers.forEach(Thread::start);
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> String.join("\n", failures));
+        ConfigSnapshot last = config.snapshot();
+        assertTrue(last.getVersion() > initialVersion, "version did not move");
+        for (int i = 0; i < WRITERS; i++) {
+            assertEquals(WRITES, counters[i].getInt());
+            assertEquals(WRITES, handles[i].get());
+            assertEquals(WRITES, last.getInt("w" + i), "snapshot is stale for w" + i);
+        }
+        assertEquals(TRANSACTIONS, last.getInt("pair.left"));
+        assertEquals(-TRANSACTIONS, last.getInt("pair.right"));
+    }
+
+    @Test
+    void snapshotsStayWholeDuringSavesAndReloads() throws InterruptedException {
+        String modId = "modernconfig_snapshot_reload_test";
+        IntConfigOption[] counters = new IntConfigOption[WRITERS];
+        Map<String, Object> options = new LinkedHashMap<>();
+        for (int i = 0; i < WRITERS; i++) {
+            counters[i] = new IntConfigOption("w" + i, "Writer " + i, "", 0);
+            options.put("w" + i, counters[i]);
+        }
+        IntConfigOption left = new IntConfigOption("left", "Left", "", 0);
+        IntConfigOption right = new IntConfigOption("right", "Right", "", 0);
+        Map<String, Object> pair = new LinkedHashMap<>();
+        pair.put("left", left);
+        pair.put("right", right);
+        options.put("pair", pair);
+        ModernConfig config = ModernConfig.create(modId, options);
+        // Start from a file without defaults, so a reload that brings one back is caught
+        config.edit(tx -> {
+            for (IntConfigOption counter : counters) {
+                tx.set(counter, 1);
+            }
+            tx.set(left, 1).set(right, -1);
+        });
+        ConfigManager.save(modId);
+        config.snapshot();
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger reloads = new AtomicInteger();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            IntConfigOption counter = counters[i];
+            writers.add(new Thread(() -> {
+                await(start);
+                for (int value = 2; value <= WRITES; value++) {
+                    counter.setValue(value);
+                }
+            }, "writer-" + i));
+        }
+        writers.add(new Thread(() -> {
+            await(start);
+            for (int value = 2; value <= TRANSACTIONS; value++) {
+                int next = value;
+                config.edit(tx -> tx.set(left, next).set(right, -next));
+            }
+        }, "transaction-writer"));
+
+        List<Thread> background = new ArrayList<>();
+        background.add(new Thread(() -> {
+            await(start);
+            while (writing.get()) {
+                ConfigManager.flush();
+            }
+        }, "flusher"));
+        background.add(new Thread(() -> {
+            await(start);
+            while (writing.get()) {
+                ConfigManager.load(modId);
+                reloads.incrementAndGet();
+                Thread.yield();
+            }
+        }, "reloader"));
+        for (int r = 0; r < READERS; r++) {
+            background.add(new Thread(() -> {
+                await(start);
+                long lastVersion = -1;
+                int[] lastSeen = new int[WRITERS + 1];
+                int[] seen = new int[WRITERS + 1];
+                do {
+                    ConfigSnapshot snapshot = config.snapshot();
+                    long version = snapshot.getVersion();
+                    for (int i = 0; i < WRITERS; i++) {
+                        seen[i] = snapshot.getInt("w" + i);
+                        if (seen[i] < 1) {
+                            failures.add("snapshot " + version + " has w" + i + " reset to " + seen[i]);
+                        }
+                    }
+                    int snapshotLeft = snapshot.getInt("pair.left");
+                    int snapshotRight = snapshot.getInt("pair.right");
+                    seen[WRITERS] = snapshotLeft;
+                    if (snapshotRight != -snapshotLeft) {
+                        failures.add("torn snapshot " + version + ": left " + snapshotLeft + ", right " + snapshotRight);
+                    } else if (snapshotLeft < 1) {
+                        failures.add("snapshot " + version + " has the pair reset to " + snapshotLeft);
+                    }
+                    if (version < lastVersion) {
+                        failures.add("snapshot version went back from " + lastVersion + " to " + version);
+                    } else if (version == lastVersion && !Arrays.equals(seen, lastSeen)) {
+                        failures.add("snapshot version " + version + " stands for two sets of values");
+                    }
+                    System.arraycopy(seen, 0, lastSeen, 0, seen.length);
+                    lastVersion = version;
+                } while (writing.get() && failures.size() < 20);
+            }, "reader-" + r));
+        }
+
+        writers.forEach(Thread::start);
+        background.forEach(Thread::start);
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        writing.set(false);
+        for (Thread thread : background) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> String.join("\n", failures));
+        assertTrue(reloads.get() > 0, "the file was never reloaded");
+        ConfigSnapshot last = config.snapshot();
+        assertEquals(-last.getInt("pair.left"), last.getInt("pair.right"), "the last snapshot is torn");
+    }
+
+    @Test
+    void snapshotsAreSharedUntilAValueChanges() {
+        Map<String, Object> options = new LinkedHashMap<>();
+        IntConfigOption changed = new IntConfigOption("changed", "Changed", "", 1);
+        options.put("changed", changed);
+        options.put("kept", new ConfigOption<>("kept", "Kept", "", "text"));
+        ModernConfig config = ModernConfig.create("modernconfig_snapshot_test", options);
+        config.edit(tx -> tx.resetCategory(""));
+
+        ConfigSnapshot first = config.snapshot();
+        assertSame(first, config.snapshot());
+
+        changed.setValue(2);
+        ConfigSnapshot second = config.snapshot();
+        assertNotSame(first, second);
+        assertTrue(second.isNewerThan(first));
+        assertEquals(1, first.getInt("changed"));
+        assertEquals(2, second.getInt("changed"));
+        assertEquals("text", second.getString("kept"));
+    }
+
+    @Test
+    void snapshotTakenDuringATransactionShowsTheStateBeforeIt() {
+        IntConfigOption left = new IntConfigOption("left", "Left", "", 0);
+        IntConfigOption right = new IntConfigOption("right", "Right", "", 0);
+        ModernConfig[] config = new ModernConfig[1];
+        ConfigSnapshot[] during = new ConfigSnapshot[1];
+        // Applied between left and right; takes the first snapshot this config has ever had
+        ConfigOption<Integer> probe = new ConfigOption<>("probe", "Probe", "", 0) {
+            @Override
+            public void setValue(Integer value) {
+                super.setValue(value);
+                if (config[0] != null) {
+                    during[0] = config[0].snapshot();
+                }
+            }
+        };
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("left", left);
+        options.put("probe", probe);
+        options.put("right", right);
+        config[0] = ModernConfig.create("modernconfig_snapshot_batch_test", options);
+        // Relative to whatever an earlier run left in the file, so no transaction or snapshot happens before this one
+        int leftBefore = left.getInt();
+        int rightBefore = right.getInt();
+        int next = leftBefore + 1;
+
+        config[0].edit(tx -> tx.set(left, next).set(probe, probe.getValue() + 1).set(right, -next));
+        assertEquals(leftBefore, during[0].getInt("left"));
+        assertEquals(rightBefore, during[0].getInt("right"));
+        ConfigSnapshot after = config[0].snapshot();
+        assertTrue(after.isNewerThan(during[0]));
+        assertEquals(next, after.getInt("left"));
+        assertEquals(-next, after.getInt("right"));
+    }
+
+    /** The counter in both halves of a long. */
+    private static long pack(int counter) {
+        return ((long) counter << 32) | counter;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
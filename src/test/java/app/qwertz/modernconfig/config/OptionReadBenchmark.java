@@ -0,0 +1,87 @@
+package app.qwertz.modernconfig.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import app.qwertz.modernconfig.Benchmarks;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cost of reading one option value the way a mod does every tick: walking the config maps as getOption did before
+ * the path index, against the indexed lookups, the typed handles and snapshots. How to run it: OptionReadBenchmark.md.
+ */
+class OptionReadBenchmark {
+    private static final int OPERATIONS = 1_000_000;
+
+    @Test
+    void readOption() throws Exception {
+        assumeTrue(Benchmarks.enabled(), "benchmarks run with -Dmodernconfig.benchmarks=true");
+        Map<String, Object> config = config(8, 24);
+        ConfigManager.bindOptions("modernconfig_read_benchmark", "", config);
+        ModernConfig modernConfig = new ModernConfig("modernconfig_read_benchmark", config);
+        IntHandle color = modernConfig.intHandle("category_7.option_22");
+        BooleanHandle toggle = modernConfig.booleanHandle("category_7.option_23");
+        ConfigSnapshot snapshot = modernConfig.snapshot();
+
+        int expected = 0x336699 + 7 * 24 + 22;
+        assertEquals(expected, ((Number) mapWalk(config, "category_7", "option_22").getValue()).intValue());
+        assertEquals(expected, color.get());
+        assertEquals(expected, snapshot.getInt("category_7.option_22"));
+
+        Benchmarks.measure("map walk + unboxing (before)", OPERATIONS,
+            i -> ((Number) mapWalk(config, "category_7", "option_22").getValue()).intValue());
+        Benchmarks.measure("getOption(\"cat.opt\") + unboxing", OPERATIONS,
+            i -> ((Number) modernConfig.getOption("category_7.option_22").getValue()).intValue());
+        Benchmarks.measure("getOption(\"cat\", \"opt\") + getInt", OPERATIONS,
+            i -> ((IntConfigOption) modernConfig.getOption("category_7", "option_22")).getInt());
+        Benchmarks.measure("snapshot().getInt(\"cat.opt\")", OPERATIONS,
+            i -> modernConfig.snapshot().getInt("category_7.option_22"));
+        Benchmarks.measure("IntHandle.get()", OPERATIONS, i -> color.get());
+        Benchmarks.measure("BooleanHandle.get()", OPERATIONS, i -> toggle.get() ? 1 : 0);
+    }
+
+    /** {@code categories} categories of {@code options} options; option_22 is a color and option_23 a toggle. */
+    private static Map<String, Object> config(int categories, int options) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        for (int c = 0; c < categories; c++) {
+            CategoryInfo category = new CategoryInfo("Category " + c, "Benchmark category");
+            for (int o = 0; o < options; o++) {
+                String id = "option_" + o;
+                ConfigOption<?> option = switch (o % 3) {
+                    case 0 -> new SliderConfigOption(id, id, id, o, 0, 100, 1);
+                    case 1 -> new ColorConfigOption(id, id, id, 0x336699 + c * options + o);
+                    default -> new BooleanConfigOption(id, id, id, true);
+                };
+                category.getOptions().put(id, option);
+            }
+            config.put("category_" + c, category);
+        }
+        return config;
+    }
+
+    /** getOption as it was before the path index: one map lookup per path element. */
+    @SuppressWarnings("unchecked")
+    private static ConfigOption<?> mapWalk(Map<String, Object> config, String... path) {
+        if (path == null || path.length == 0) return null;
+
+        Map<String, Object> current = config;
+        for (int i = 0; i < path.length - 1; i++) {
+            Object value = current.get(path[i]);
+            if (value instanceof Map) {
+                current = (Map<String, Object>) value;
+            } else if (value instanceof CategoryInfo) {
+                current = ((CategoryInfo) value).getOptions();
+            } else {
+                return null;
+            }
+        }
+
+        Object option = current.get(path[path.length - 1]);
+        if (option instanceof ConfigOption<?>) {
+            return (ConfigOption<?>) option;
+        }
+        return null;
+    }
+}
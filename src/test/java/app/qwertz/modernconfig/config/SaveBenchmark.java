@@ -0,0 +1,127 @@
+package app.qwertz.modernconfig.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import app.qwertz.modernconfig.Benchmarks;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cost of serializing a config for a save: the JsonObject tree plus Gson pretty printing used before, against
+ * streaming the options through a JsonWriter as {@link ConfigManager} does now. How to run it: SaveBenchmark.md.
+ */
+class SaveBenchmark {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final int OPERATIONS = 1_000;
+
+    @Test
+    void serializeConfig() throws Exception {
+        assumeTrue(Benchmarks.enabled(), "benchmarks run with -Dmodernconfig.benchmarks=true");
+        Map<String, Object> config = config(8, 24, 20);
+        ConfigManager.bindOptions("modernconfig_save_benchmark", "", config);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+        // Both produce the same document
+        String tree = new String(writeTree(config, out), StandardCharsets.UTF_8);
+        String streamed = new String(writeStreaming(config, out, false), StandardCharsets.UTF_8);
+        assertEquals(JsonParser.parseString(tree), JsonParser.parseString(streamed));
+        System.out.println("192 options, " + streamed.length() + " bytes indented");
+
+        Benchmarks.measure("tree + Gson, indented (before)", OPERATIONS, i -> writeTree(config, out).length);
+        Benchmarks.measure("streaming JsonWriter, indented (now)", OPERATIONS, i -> writeStreaming(config, out, false).length);
+        Benchmarks.measure("streaming JsonWriter, compact (now)", OPERATIONS, i -> writeStreaming(config, out, true).length);
+    }
+
+    /** {@code categories} categories, each with {@code options} options cycling through the common types. */
+    private static Map<String, Object> config(int categories, int options, int listItems) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        for (int c = 0; c < categories; c++) {
+            CategoryInfo category = new CategoryInfo("Category " + c, "Benchmark category");
+            for (int o = 0; o < options; o++) {
+                String id = "option_" + o;
+                ConfigOption<?> option = switch (o % 6) {
+                    case 0 -> new BooleanConfigOption(id, id, id, o % 4 == 0);
+                    case 1 -> new SliderConfigOption(id, id, id, o * 1.5, 0, 100, 1);
+                    case 2 -> new ColorConfigOption(id, id, id, 0x336699 + o);
+                    case 3 -> new ConfigOption<>(id, id, id, "Some text for option " + o);
+                    case 4 -> new DropdownConfigOption(id, id, id, List.of("Low", "Medium", "High"), "Medium");
+                    default -> {
+                        List<String> items = new ArrayList<>();
+                        for (int i = 0; i < listItems; i++) {
+                            items.add("minecraft:item_" + i);
+                        }
+                        yield new ListConfigOption(id, id, id, items, "Item");
+                    }
+                };
+                category.getOptions().put(id, option);
+            }
+            config.put("category_" + c, category);
+        }
+        return config;
+    }
+
+    private static byte[] writeStreaming(Map<String, Object> config, ByteArrayOutputStream out, boolean compact) throws IOException {
+        out.reset();
+        ConfigManager.writeJson(out, config, compact);
+        return out.toByteArray();
+    }
+
+    private static byte[] writeTree(Map<String, Object> config, ByteArrayOutputStream out) throws IOException {
+        out.reset();
+        JsonObject json = new JsonObject();
+        saveOptionsRecursive(json, config);
+        // Buffered like the Files.newBufferedWriter the file was written through
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        GSON.toJson(json, writer);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    /** The serializer ConfigManager used before saves were streamed. */
+    @SuppressWarnings("unchecked")
+    private static void saveOptionsRecursive(JsonObject json, Map<String, Object> options) {
+        for (Map.Entry<String, Object> entry : options.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (value instanceof ConfigOption<?> option) {
+                Object val = option.getValue();
+                if (option instanceof ListConfigOption) {
+                    JsonArray array = new JsonArray();
+                    for (String item : (List<String>) val) {
+                        array.add(item);
+                    }
+                    json.add(key, array);
+                } else if (val instanceof Boolean b) {
+                    json.addProperty(key, b);
+                } else if (val instanceof Number n) {
+                    json.addProperty(key, n);
+                } else if (val instanceof String s) {
+                    json.addProperty(key, s);
+                }
+            } else if (value instanceof CategoryInfo categoryInfo) {
+                JsonObject categoryJson = new JsonObject();
+                saveOptionsRecursive(categoryJson, categoryInfo.getOptions());
+                json.add(key, categoryJson);
+            } else if (value instanceof Map) {
+                JsonObject categoryJson = new JsonObject();
+                saveOptionsRecursive(categoryJson, (Map<String, Object>) value);
+                json.add(key, categoryJson);
+            }
+        }
+    }
+}
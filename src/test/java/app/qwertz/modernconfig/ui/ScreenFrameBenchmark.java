@@ -0,0 +1,121 @@
+package app.qwertz.modernconfig.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import app.qwertz.modernconfig.ModernConfigMod;
+import app.qwertz.modernconfig.config.CategoryInfo;
+import app.qwertz.modernconfig.config.ConfigManager;
+import app.qwertz.modernconfig.theme.ModernConfigTheme;
+import java.util.Map;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+import net.minecraft.client.gui.components.AbstractWidget;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Draw calls for whole pages of ModernConfig's own config, drawn by the real widgets into a
+ * {@link RecordingDrawTarget}: the root page (two category buttons and the exit button) and the "Examples" category,
+ * which has an option of every kind. The pages are built by {@link ConfigScreen}'s own helpers and laid out as it lays
+ * them out at 960 x 540 (1920 x 1080 at GUI scale 2), settled, with nothing hovered, focused or expanded.
+ * <p>
+ * The counts are deterministic, so unlike the timing benchmarks this one runs in every build and fails when a change
+ * makes a page draw more than the bounds below. Results: ScreenFrameBenchmark.md.
+ */
+class ScreenFrameBenchmark {
+    private static final String MOD_ID = "modernconfig";
+    private static final int SCREEN_WIDTH = 960;
+    private static final int SCREEN_HEIGHT = 540;
+    private static final int CONTAINER_WIDTH = 300;
+
+    private static Map<String, Object> config;
+    private static ModernConfigTheme theme;
+
+    @BeforeAll
+    static void setUp() {
+        // The item selector looks its item up in the item registry
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        ModernConfigMod.buildConfig();
+        config = ConfigManager.getConfig(MOD_ID);
+        theme = ConfigManager.getModInfo(MOD_ID).getTheme();
+    }
+
+    @Test
+    void rootPage() {
+        Page page = new Page("ModernConfig Configuration");
+        ConfigScreen.addEntries(page, config, CONTAINER_WIDTH, theme, category -> { });
+        ConfigScreen.addButton(page, "Back", () -> { }, theme);
+
+        RecordingDrawTarget frame = count("root page", page);
+        assertAtMost(50, frame.getFillCount(), "fills");
+        assertAtMost(16, frame.getBlitCount(), "blits");
+        assertAtMost(7, frame.getTextCount(), "text");
+        assertEquals(0, frame.getItemCount(), "items");
+        assertEquals(2, frame.getScissorCount(), "scissor changes");
+    }
+
+    @Test
+    void examplesPage() {
+        Page page = new Page("Examples");
+        ConfigScreen.addButton(page, "Back", () -> { }, theme);
+        ConfigScreen.addEntries(page, ((CategoryInfo) config.get("examples")).getOptions(), CONTAINER_WIDTH, theme, category -> { });
+
+        RecordingDrawTarget frame = count("Examples page", page);
+        assertAtMost(125, frame.getFillCount(), "fills");
+        assertAtMost(56, frame.getBlitCount(), "blits");
+        assertAtMost(26, frame.getTextCount(), "text");
+        assertEquals(1, frame.getItemCount(), "items");
+        assertEquals(2, frame.getScissorCount(), "scissor changes");
+    }
+
+    /** Draw the page twice, settling the animations its first frame starts, and record the second frame. */
+    private static RecordingDrawTarget count(String name, Page page) {
+        RecordingDrawTarget recorder = new RecordingDrawTarget();
+        draw(page, recorder);
+        FrameClock.settleAll();
+        recorder.reset();
+        draw(page, recorder);
+        System.out.printf("%-16s %4d fills %4d blits %4d text %2d items %2d scissor changes %5d total%n", name,
+            recorder.getFillCount(), recorder.getBlitCount(), recorder.getTextCount(), recorder.getItemCount(),
+            recorder.getScissorCount(), recorder.getPrimitiveCount() + recorder.getScissorCount());
+        return recorder;
+    }
+
+    private static void assertAtMost(int bound, int count, String what) {
+        assertTrue(count <= bound, () -> count + " " + what + " drawn, at most " + bound + " expected");
+    }
+
+    private static void draw(Page page, DrawTarget target) {
+        FrameClock.tick();
+        RenderUtil.drawInto(target, () -> page.render(null, -1, -1, 0));
+    }
+
+    /** A page of the screen, placed as {@link ConfigScreen} places it. */
+    private static final class Page extends ModernContainer {
+        Page(String title) {
+            super(SCREEN_WIDTH / 2 - CONTAINER_WIDTH / 2, 50, CONTAINER_WIDTH, SCREEN_HEIGHT - 100, theme);
+            ConfigScreen.setUpPage(this, Component.literal(title));
+        }
+
+        /** Straight to the widget's own drawing; the game's hover and tooltip tracking around it needs a client. */
+        @Override
+        void renderChild(AbstractWidget widget, GuiGraphicsExtractor context, int mouseX, int mouseY, float delta) {
+            switch (widget) {
+                case ModernButton button -> button.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernCategory category -> category.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernListWidget list -> list.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernDropdown dropdown -> dropdown.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernColorPicker colorPicker -> colorPicker.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernItemSelector itemSelector -> itemSelector.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernToggle toggle -> toggle.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernString string -> string.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                case ModernSlider slider -> slider.extractWidgetRenderState(context, mouseX, mouseY, delta);
+                default -> throw new IllegalStateException("No ConfigScreen widget: " + widget.getClass().getName());
+            }
+        }
+    }
+}